@@ -0,0 +1,101 @@
+package benchmarks;
+
+import data.Difficulty;
+import data.GameData;
+import data.WordDictionary;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading the dictionary, and choosing target words from it.
+ *
+ * @author Andy Lau
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DictionaryBenchmark {
+
+    private GameData gamedata;
+
+    @Setup
+    public void setup() {
+        WordDictionary.getInstance().size(); // make sure the shared dictionary is loaded and indexed
+        gamedata = new GameData(null);
+    }
+
+    /** A cold load: a new dictionary is read and indexed from scratch every time. */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int coldLoad() {
+        return WordDictionary.load().validSize();
+    }
+
+    /** A warm load: the shared dictionary, which is only loaded once per JVM. */
+    @Benchmark
+    public int warmLoad() {
+        return WordDictionary.getInstance().validSize();
+    }
+
+    /** Picks the index of a random target word, without creating a string. */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int randomValidIndex() {
+        return WordDictionary.getInstance().randomValidIndex(ThreadLocalRandom.current());
+    }
+
+    /** Picks a random target word from one difficulty and length bucket. */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int randomBucketIndex() {
+        return WordDictionary.getInstance().randomValidIndex(ThreadLocalRandom.current(), Difficulty.HARD, 8, 12);
+    }
+
+    /** Starts a new game, which picks a random target word and indexes its letters. */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public String newGame() {
+        gamedata.init();
+        return gamedata.getTargetWord();
+    }
+
+    /** Checks whether a random word may be a target word, the way it is done for words from other sources. */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean checkValidWord(WordState state) {
+        return gamedata.checkValidWord(state.next());
+    }
+
+    /** Checks whether a random word earns a hint. */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean checkNeedHint(WordState state) {
+        return gamedata.checkNeedHint(state.next());
+    }
+
+    /** A fixed sample of target words, so that string creation is not part of the measurement. */
+    @State(Scope.Thread)
+    public static class WordState {
+
+        private final String[] words = new String[1024];
+        private int            next;
+
+        @Setup
+        public void setup() {
+            WordDictionary   dictionary = WordDictionary.getInstance();
+            SplittableRandom random     = new SplittableRandom(42);
+            for (int i = 0; i < words.length; i++)
+                words[i] = dictionary.getWord(dictionary.validIndex(random.nextInt(dictionary.validSize())));
+        }
+
+        String next() {
+            return words[next++ & (words.length - 1)];
+        }
+    }
+}
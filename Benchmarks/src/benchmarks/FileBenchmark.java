@@ -0,0 +1,95 @@
+package benchmarks;
+
+import data.BinaryGameFile;
+import data.GameData;
+import data.GameDataFile;
+import data.GameEventLog;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saving and loading a game in progress, to and from a temporary JSON or binary file, and recording a move in an event
+ * log.
+ *
+ * @author Andy Lau
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FileBenchmark {
+
+    private final GameDataFile file = new GameDataFile();
+    private GameData           saved;
+    private GameData           loaded;
+    private Path               path;
+    private Path               binaryPath;
+    private Path               logPath;
+    private GameEventLog       log;
+
+    @Setup
+    public void setup() throws IOException {
+        saved = new GameData(null);
+        saved.setTargetWord("cheeseburger");
+        for (char c : "easyq".toCharArray()) {
+            saved.addAllGuesses(c);
+            if (saved.positionsOf(c) != 0)
+                saved.addGoodGuess(c);
+            else
+                saved.addBadGuess(c);
+        }
+        loaded = new GameData(null);
+        path = Files.createTempFile("hangman", ".json");
+        file.saveData(saved, path);
+        binaryPath = Files.createTempFile("hangman", "." + BinaryGameFile.EXTENSION);
+        file.saveData(saved, binaryPath);
+        logPath = Files.createTempFile("hangman", "." + GameEventLog.EXTENSION);
+        log = GameEventLog.create(logPath);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        log.close();
+        Files.deleteIfExists(path);
+        Files.deleteIfExists(binaryPath);
+        Files.deleteIfExists(logPath);
+    }
+
+    @Benchmark
+    public Path save() {
+        file.saveData(saved, path);
+        return path;
+    }
+
+    @Benchmark
+    public GameData load() throws IOException {
+        file.loadData(loaded, path);
+        return loaded;
+    }
+
+    @Benchmark
+    public Path saveBinary() {
+        file.saveData(saved, binaryPath);
+        return binaryPath;
+    }
+
+    @Benchmark
+    public GameData loadBinary() throws IOException {
+        file.loadData(loaded, binaryPath);
+        return loaded;
+    }
+
+    /** Records a move; it is committed to disk in the background, along with the other moves made meanwhile. */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public GameEventLog appendEvent() {
+        log.guessed('e');
+        return log;
+    }
+}
@@ -0,0 +1,69 @@
+package benchmarks;
+
+import controller.HangmanEngine;
+import data.GameData;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolving guesses, through the same {@link HangmanEngine} the game uses.
+ *
+ * @author Andy Lau
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GuessBenchmark {
+
+    /** Guesses in order of letter frequency in English, roughly the order a person tries them in. */
+    private static final String GUESS_ORDER = "etaoinshrdlcumwfgypbvkjxqz";
+
+    /** The target word of the single-move benchmarks; it has enough distinct letters to be offered a hint. */
+    private static final String TARGET_WORD = "cheeseburger";
+
+    private GameData      gamedata;
+    private HangmanEngine engine;
+
+    @Setup
+    public void setup() {
+        gamedata = new GameData(null);
+        engine = new HangmanEngine(gamedata);
+    }
+
+    /** Plays a whole game, from picking the target word to the last guess. */
+    @Benchmark
+    public void playGame(Blackhole blackhole) {
+        engine.newGame();
+        for (int i = 0; i < GUESS_ORDER.length() && !engine.isOver(); i++)
+            blackhole.consume(engine.guess(GUESS_ORDER.charAt(i)));
+        blackhole.consume(engine.isWon());
+    }
+
+    /** Resolves a single guess in a fresh game, including the check for a repeated guess. */
+    @Benchmark
+    @OperationsPerInvocation(2)
+    public void guess(Blackhole blackhole) {
+        gamedata.reset();
+        gamedata.setTargetWord(TARGET_WORD);
+        blackhole.consume(engine.guess('e'));
+        blackhole.consume(engine.guess('E'));
+    }
+
+    /**
+     * Takes the hint, which asks the {@link controller.HangmanSolver} for the best hidden letter: the letters are
+     * scored over the dictionary words that still match the game, as narrowed down by the candidate filter.
+     */
+    @Benchmark
+    public char hint() {
+        gamedata.reset();
+        gamedata.setTargetWord(TARGET_WORD);
+        gamedata.setIsHintUsed(false);
+        engine.guess('e');
+        return engine.hint();
+    }
+}
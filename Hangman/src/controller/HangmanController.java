@@ -1,20 +1,15 @@
 package controller;
 
 import apptemplate.AppTemplate;
+import data.AutoSaver;
 import data.GameData;
+import data.GameDataFile;
+import data.GameEventLog;
+import data.SavedGame;
 import gui.Workspace;
-import javafx.animation.AnimationTimer;
 import javafx.application.Platform;
-import javafx.collections.ObservableList;
-import javafx.scene.shape.Rectangle;
-import javafx.scene.Node;
 import javafx.scene.control.Button;
-import javafx.scene.control.Label;
 import javafx.scene.input.KeyEvent;
-import javafx.scene.layout.HBox;
-import javafx.scene.layout.StackPane;
-import javafx.scene.paint.Color;
-import javafx.scene.text.Text;
 import javafx.stage.FileChooser;
 import javafx.stage.FileChooser.ExtensionFilter;
 import propertymanager.PropertyManager;
@@ -24,8 +19,11 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.ArrayList;
 
+import static hangman.HangmanProperties.BINARY_FILE_EXT;
+import static hangman.HangmanProperties.BINARY_FILE_EXT_DESC;
+import static hangman.HangmanProperties.EVENT_LOG_FILE_EXT;
+import static hangman.HangmanProperties.EVENT_LOG_FILE_EXT_DESC;
 import static settings.AppPropertyType.*;
 import static settings.InitializationParameters.APP_WORKDIR_PATH;
 
@@ -41,20 +39,26 @@ public class HangmanController implements FileController {
         ENDED
     }
 
-    private AppTemplate appTemplate; // shared reference to the application
-    private GameData    gamedata;    // shared reference to the game being played, loaded or saved
-    private GameState   gamestate;   // the state of the game being shown in the workspace
-    private Text[]      progress;    // reference to the text area for the word
-    private Text[]      alldaguesses;
-    private boolean     success;     // whether or not player was successful
-    private int         discovered;  // the number of letters already discovered
-    private Button      gameButton;  // shared reference to the "start game" button
-    private Button      giveHint;
-    private Label       remains;     // dynamically updated label that indicates the number of remaining guesses
-    private Path        workFile;
-    private ObservableList<Node> hangmanImage;
-    private char[] alphabet = "abcdefghijklmnopqrstuvwxyz".toCharArray();
-    private ArrayList<Rectangle> rectangles = new ArrayList<Rectangle>();
+    private AppTemplate   appTemplate; // shared reference to the application
+    private GameData      gamedata;    // shared reference to the game being played, loaded or saved
+    private HangmanEngine engine;      // the rules of the game, applied to the game data
+    private GameState     gamestate;   // the state of the game being shown in the workspace
+    private Button        gameButton;  // shared reference to the "start game" button
+    private Button        giveHint;
+    private Path          workFile;
+    private GameEventLog  eventLog;    // the log every move is appended to, if the game is saved as one
+    private long          savePending; // the save the user is waiting to be told about, or 0 if there is none
+    private final AutoSaver autoSaver = new AutoSaver(new AutoSaver.Listener() { // writes saves in the background
+        @Override
+        public void saved(Path to, long save) {
+            Platform.runLater(() -> autoSaved(to, save));
+        }
+
+        @Override
+        public void saveFailed(Path to, IOException e) {
+            autoSaveFailed(to, e);
+        }
+    });
 
     public HangmanController(AppTemplate appTemplate, Button gameButton, Button giveHint) {
         this(appTemplate);
@@ -117,39 +121,28 @@ public class HangmanController implements FileController {
      */
     public void start() {
         gamedata = (GameData) appTemplate.getDataComponent();
-        success = false;
-        discovered = 0;
+        engine = new HangmanEngine(gamedata);
+        engine.setEventLog(eventLog);
+        engine.newGame();
+        setGameState(GameState.INITIALIZED_UNMODIFIED);
 
         Workspace gameWorkspace = (Workspace) appTemplate.getWorkspaceComponent();
-
-
-        gamedata.init();
-        setGameState(GameState.INITIALIZED_UNMODIFIED);
-        HBox remainingGuessBox = gameWorkspace.getRemainingGuessBox();
-        HBox guessedLetters    = (HBox) gameWorkspace.getGameTextsPane().getChildren().get(1);
-        HBox allGuesses        = gameWorkspace.getAllGuesses();
-        if (gamedata.checkNeedHint(gamedata.getTargetWord())) {
-            giveHint = gameWorkspace.getGiveHint();
-            giveHint.setVisible(true);
-        }
-        remains = new Label(Integer.toString(GameData.TOTAL_NUMBER_OF_GUESSES_ALLOWED));
-        remainingGuessBox.getChildren().addAll(new Label("Remaining Guesses: "), remains);
-        allGuesses.getChildren().addAll(new Label("Letters Guessed (Appear in Red): "));
-        initWordGraphics(guessedLetters, allGuesses);
+        gameWorkspace.showGame(gamedata.getTargetWord(), gamedata.getRemainingGuesses());
+        gameWorkspace.showHint(engine.isHintOffered(), engine.isHintAvailable());
         play();
     }
 
     private void end() {
         appTemplate.getGUI().getPrimaryScene().setOnKeyTyped(null);
         gameButton.setDisable(true);
-        giveHint.setDisable(true);
+        disableHintButton();
         setGameState(GameState.ENDED);
         appTemplate.getGUI().updateWorkspaceToolbar(gamestate.equals(GameState.INITIALIZED_MODIFIED));
         Platform.runLater(() -> {
             PropertyManager           manager    = PropertyManager.getManager();
             AppMessageDialogSingleton dialog     = AppMessageDialogSingleton.getSingleton();
-            String                    endMessage = manager.getPropertyValue(success ? GAME_WON_MESSAGE : GAME_LOST_MESSAGE);
-            if (!success)
+            String                    endMessage = manager.getPropertyValue(engine.isWon() ? GAME_WON_MESSAGE : GAME_LOST_MESSAGE);
+            if (!engine.isWon())
                 endMessage += String.format(" :(");
             if (dialog.isShowing())
                 dialog.toFront();
@@ -158,171 +151,99 @@ public class HangmanController implements FileController {
         });
     }
 
-    private void initWordGraphics(HBox guessedLetters, HBox allGuesses) {
-        Workspace gameWorkspace = (Workspace) appTemplate.getWorkspaceComponent();
-        guessedLetters = (HBox) gameWorkspace.getGameTextsPane().getChildren().get(1);
-        char[] targetword = gamedata.getTargetWord().toCharArray();
-        progress = new Text[targetword.length];
-        for (int i = 0; i < targetword.length; i++) {
-            StackPane stackPane = new StackPane();
-            Rectangle rect = new Rectangle();
-            rect.setWidth(30);
-            rect.setHeight(30);
-            rect.setFill(Color.BEIGE);
-            rect.setStroke(Color.BLACK);
-            progress[i] = new Text(Character.toString(targetword[i]));
-            progress[i].setVisible(false);
-            stackPane.getChildren().addAll(rect, progress[i]);
-            guessedLetters.getChildren().add(stackPane);
-            rectangles.add(i, rect);
-        }
-
-        alldaguesses = new Text[alphabet.length];
-        for (int i = 0; i < alphabet.length; i++){
-            alldaguesses[i] = new Text(Character.toString(alphabet[i]));
-            alldaguesses[i].setVisible(true);
-            alldaguesses[i].setOpacity(0.2);
-        }
-        allGuesses.getChildren().addAll(alldaguesses);
-    }
-
     public void play() {
         System.out.print(gamedata.getTargetWord());
         disableGameButton();
-        AnimationTimer timer = new AnimationTimer() {
-            @Override
-            public void handle(long now) {
-                appTemplate.getGUI().updateWorkspaceToolbar(gamestate.equals(GameState.INITIALIZED_MODIFIED));
-                appTemplate.getGUI().getPrimaryScene().setOnKeyTyped((KeyEvent event) -> {
-                    char guess = event.getCharacter().toLowerCase().charAt(0);
-                    if (!alreadyGuessed(guess) && Character.isLetter(guess)) {
-                        gamedata.addAllGuesses(guess);
-                        for (int i = 0; i < alphabet.length; i++){
-                            if (alphabet[i] == guess){
-                                alldaguesses[i].setStroke(Color.RED);
-                                alldaguesses[i].setOpacity(5);
-                            }
-                        }
-                        boolean goodguess = false;
-                        for (int i = 0; i < progress.length; i++) {
-                            if (gamedata.getTargetWord().charAt(i) == guess) {
-                                progress[i].setVisible(true);
-                                gamedata.addGoodGuess(guess);
-                                goodguess = true;
-                                discovered++;
-                            }
-                        }
-                        if (!goodguess) {
-                            gamedata.addBadGuess(guess);
-                            Workspace gameWorkspace = (Workspace) appTemplate.getWorkspaceComponent();
-                            hangmanImage = gameWorkspace.getHangmanImage();
-                            for(int i = 0; i < gamedata.getBadGuesses().size(); i++)
-                                hangmanImage.get(i).setVisible(true);
-                        }
-
-                        success = (discovered == progress.length);
-                        remains.setText(Integer.toString(gamedata.getRemainingGuesses()));
-                    }
-                    setGameState(GameState.INITIALIZED_MODIFIED);
-                });
-                if (gamedata.getRemainingGuesses() == 1)
-                    disableHintButton();
-                if (gamedata.getRemainingGuesses() <= 0 || success) {
-                    for (int i = 0; i < progress.length; i++){
-                        if (!progress[i].isVisible()) {
-                            progress[i].setStroke(Color.BLUE);
-                            progress[i].setVisible(true);
-                            rectangles.get(i).setFill(Color.ORANGE);
-                        }
-                    }
-                    stop();
-                }
-            }
-
-            @Override
-            public void stop() {
-                super.stop();
-                end();
-            }
-        };
-        timer.start();
+        appTemplate.getGUI().getPrimaryScene().setOnKeyTyped(this::handleKeyTyped);
+        update();
     }
 
-    private void restoreGUI() {
-        disableGameButton();
-        Workspace gameWorkspace = (Workspace) appTemplate.getWorkspaceComponent();
-        gameWorkspace.reinitialize();
+    private void handleKeyTyped(KeyEvent event) {
+        char                      guess         = event.getCharacter().toLowerCase().charAt(0);
+        HangmanEngine.GuessResult result        = engine.guess(guess);
+        Workspace                 gameWorkspace = (Workspace) appTemplate.getWorkspaceComponent();
+        if (result == HangmanEngine.GuessResult.GOOD || result == HangmanEngine.GuessResult.BAD) {
+            gameWorkspace.markGuessed(GameData.letterBit(guess));
+            if (result == HangmanEngine.GuessResult.GOOD)
+                gameWorkspace.revealPositions(gamedata.positionsOf(guess));
+            else
+                gameWorkspace.showBadGuesses(gamedata.getBadGuessCount());
+            gameWorkspace.setRemainingGuesses(gamedata.getRemainingGuesses());
+            markModified(); // a repeated or invalid key changes nothing, so there is nothing to save
+        }
+        update();
+    }
 
-        HBox guessedLetters = (HBox) gameWorkspace.getGameTextsPane().getChildren().get(1);
-        HBox  allGuesses    =  gameWorkspace.getAllGuesses();
-        allGuesses.getChildren().addAll(new Label("Letters Guessed (Appear in Red): "));
-        restoreWordGraphics(guessedLetters, allGuesses);
+    /**
+     * Notes that the game has changed since it was saved. Once a game has been saved, every move is saved as it is
+     * made: it is appended to the log if the game is saved as one, and otherwise the whole game is saved again in the
+     * background.
+     */
+    private void markModified() {
+        if (eventLog == null && workFile != null)
+            autoSaver.save(gamedata, workFile);
+        setGameState(eventLog == null && workFile == null ? GameState.INITIALIZED_MODIFIED
+                                                          : GameState.INITIALIZED_UNMODIFIED);
+    }
 
-        HBox remainingGuessBox = gameWorkspace.getRemainingGuessBox();
-        remains = new Label(Integer.toString(gamedata.getRemainingGuesses()));
-        remainingGuessBox.getChildren().addAll(new Label("Remaining Guesses: "), remains);
+    /** Tells the player that the save they asked for is written, once it is; autosaves go unmentioned. */
+    private void autoSaved(Path target, long save) {
+        if (savePending == 0 || save < savePending || !target.equals(workFile))
+            return;
+        savePending = 0;
+        AppMessageDialogSingleton dialog = AppMessageDialogSingleton.getSingleton();
+        PropertyManager           props  = PropertyManager.getManager();
+        dialog.show(props.getPropertyValue(SAVE_COMPLETED_TITLE), props.getPropertyValue(SAVE_COMPLETED_MESSAGE));
+    }
 
-        giveHint = gameWorkspace.getGiveHint();
-        if (gamedata.checkNeedHint(gamedata.getTargetWord()) && !gamedata.isHintUsed()) {
-            enableHintButton();
-            giveHint.setVisible(true);
-        }
+    /** Tells the player that a background save failed, and lets them save again. */
+    private void autoSaveFailed(Path target, IOException e) {
+        e.printStackTrace();
+        Platform.runLater(() -> {
+            if (!target.equals(workFile))
+                return; // another game by now
+            savePending = 0;
+            setGameState(GameState.INITIALIZED_MODIFIED);
+            appTemplate.getGUI().updateWorkspaceToolbar(true);
+            AppMessageDialogSingleton dialog = AppMessageDialogSingleton.getSingleton();
+            PropertyManager           props  = PropertyManager.getManager();
+            dialog.show(props.getPropertyValue(SAVE_ERROR_TITLE), props.getPropertyValue(SAVE_ERROR_MESSAGE));
+        });
+    }
 
-        if (gamedata.checkNeedHint(gamedata.getTargetWord()) && gamedata.isHintUsed()) {
+    /**
+     * Brings the toolbar and the hint button up to date with the game, and ends the game if it is over. This is called
+     * whenever the game changes (a new or restored game, a key press, a hint), rather than on every frame.
+     */
+    private void update() {
+        appTemplate.getGUI().updateWorkspaceToolbar(gamestate.equals(GameState.INITIALIZED_MODIFIED));
+        if (!engine.isHintAvailable())
             disableHintButton();
-            giveHint.setVisible(true);
+        if (engine.isOver()) {
+            ((Workspace) appTemplate.getWorkspaceComponent()).revealMissedLetters();
+            end();
         }
+    }
 
-
-        hangmanImage = gameWorkspace.getHangmanImage();
-        for(int i = 0; i < gamedata.getBadGuesses().size(); i++)
-            hangmanImage.get(i).setVisible(true);
-
-        success = false;
-        play();
+    /** @return whether there is a game to show, i.e., one that was started or loaded. */
+    private boolean hasGame() {
+        return gamedata != null && gamedata.getTargetWord() != null;
     }
 
-    private void restoreWordGraphics(HBox guessedLetters, HBox allGuesses) {
+    private void restoreGUI() {
+        disableGameButton();
         Workspace gameWorkspace = (Workspace) appTemplate.getWorkspaceComponent();
-        discovered = 0;
-        char[] targetword = gamedata.getTargetWord().toCharArray();
-        progress = new Text[targetword.length];
-        for (int i = 0; i < targetword.length; i++) {
-            StackPane stackPane = new StackPane();
-            javafx.scene.shape.Rectangle rect = new javafx.scene.shape.Rectangle();
-            rect.setWidth(30);
-            rect.setHeight(30);
-            rect.setFill(Color.BEIGE);
-            rect.setStroke(Color.BLACK);
-            progress[i] = new Text(Character.toString(targetword[i]));
-            progress[i].setVisible(false);
-            stackPane.getChildren().addAll(rect, progress[i]);
-            guessedLetters.getChildren().add(stackPane);
-            rectangles.add(i, rect);
-        }
-        for (int i = 0; i < progress.length; i++) {
-            progress[i].setVisible(gamedata.getGoodGuesses().contains(progress[i].getText().charAt(0)));
-            if (progress[i].isVisible())
-                discovered++;
-        }
+        gameWorkspace.reinitialize();
 
-        allGuesses        = gameWorkspace.getAllGuesses();
-        alldaguesses = new Text[alphabet.length];
-        for (int i = 0; i < alphabet.length; i++){
-            alldaguesses[i] = new Text(Character.toString(alphabet[i]));
-            alldaguesses[i].setVisible(true);
-        }
-        allGuesses.getChildren().addAll(alldaguesses);
-        for (int i = 0; i < alphabet.length; i++){
-            if (gamedata.getAllGuesses().contains(alphabet[i])){
-                alldaguesses[i].setStroke(Color.RED);
-                alldaguesses[i].setOpacity(5);
-            }
-        }
-    }
+        engine = new HangmanEngine(gamedata);
+        engine.setEventLog(eventLog);
+        gameWorkspace.showGame(gamedata.getTargetWord(), gamedata.getRemainingGuesses());
+        gameWorkspace.revealPositions(gamedata.getRevealedPositions());
+        gameWorkspace.markGuessed(gamedata.getAllGuessMask());
+        gameWorkspace.showBadGuesses(gamedata.getBadGuessCount());
+        gameWorkspace.showHint(engine.isHintOffered(), engine.isHintAvailable());
 
-    private boolean alreadyGuessed(char c) {
-        return gamedata.getGoodGuesses().contains(c) || gamedata.getBadGuesses().contains(c);
+        play();
     }
 
     @Override
@@ -341,6 +262,7 @@ public class HangmanController implements FileController {
             appTemplate.getWorkspaceComponent().reloadWorkspace(); // load data into workspace
             ensureActivatedWorkspace();                            // ensure workspace is activated
             workFile = null;                                       // new workspace has never been saved to a file
+            closeEventLog();
             ((Workspace) appTemplate.getWorkspaceComponent()).reinitialize();
 
             enableGameButton();
@@ -363,11 +285,7 @@ public class HangmanController implements FileController {
             Path        targetPath  = appDirPath.resolve(APP_WORKDIR_PATH.getParameter());
             filechooser.setInitialDirectory(targetPath.toFile());
             filechooser.setTitle(propertyManager.getPropertyValue(SAVE_WORK_TITLE));
-            String description = propertyManager.getPropertyValue(WORK_FILE_EXT_DESC);
-            String extension   = propertyManager.getPropertyValue(WORK_FILE_EXT);
-            ExtensionFilter extFilter = new ExtensionFilter(String.format("%s (*.%s)", description, extension),
-                    String.format("*.%s", extension));
-            filechooser.getExtensionFilters().add(extFilter);
+            addExtensionFilters(filechooser);
             File selectedFile = filechooser.showSaveDialog(appTemplate.getGUI().getWindow());
             if (selectedFile != null)
                 save(selectedFile.toPath());
@@ -376,41 +294,16 @@ public class HangmanController implements FileController {
     }
 
     public void handleHintRequest() {
-        for (int i = 0; i < gamedata.getTargetWord().length(); i++) {
-                if (!progress[i].isVisible()) {
-                    progress[i].setVisible(true);
-                    gamedata.addGoodGuess(gamedata.getTargetWord().charAt(i));
-                    gamedata.addBadGuess(gamedata.getTargetWord().charAt(i));
-                    gamedata.addAllGuesses(gamedata.getTargetWord().charAt(i));
-                    discovered++;
-                    Workspace gameWorkspace = (Workspace) appTemplate.getWorkspaceComponent();
-                    hangmanImage = gameWorkspace.getHangmanImage();
-                    for (int x = 0; x < gamedata.getBadGuesses().size(); x++)
-                        hangmanImage.get(x).setVisible(true);
-                    for (int y = 0; y < alphabet.length; y++){
-                        if (gamedata.getAllGuesses().contains(alphabet[y])){
-                            alldaguesses[y].setStroke(Color.RED);
-                            alldaguesses[y].setOpacity(5);
-                        }
-                    }
-                    remains.setText(Integer.toString(gamedata.getRemainingGuesses()));
-                    break;
-                }
-            }
-        for (int i = 0; i <gamedata.getTargetWord().length(); i++) {
-            if (!progress[i].isVisible() && gamedata.getGoodGuesses().contains(progress[i].getText().charAt(0))){
-                progress[i].setVisible(true);
-                discovered++;
-            }
-        }
-
-        disableHintButton();
-        gamedata.setIsHintUsed(true);
-
-        if(discovered == gamedata.getTargetWord().length()) {
-            success = true;
-            end();
+        char letter = engine.hint();
+        if (letter != 0) {
+            Workspace gameWorkspace = (Workspace) appTemplate.getWorkspaceComponent();
+            gameWorkspace.revealPositions(gamedata.positionsOf(letter));
+            gameWorkspace.markGuessed(GameData.letterBit(letter));
+            gameWorkspace.showBadGuesses(gamedata.getBadGuessCount());
+            gameWorkspace.setRemainingGuesses(gamedata.getRemainingGuesses());
+            markModified();
         }
+        update();
     }
 
     @Override
@@ -425,15 +318,12 @@ public class HangmanController implements FileController {
             Path            targetPath      = appDirPath.resolve(APP_WORKDIR_PATH.getParameter());
             filechooser.setInitialDirectory(targetPath.toFile());
             filechooser.setTitle(propertyManager.getPropertyValue(LOAD_WORK_TITLE));
-            String description = propertyManager.getPropertyValue(WORK_FILE_EXT_DESC);
-            String extension   = propertyManager.getPropertyValue(WORK_FILE_EXT);
-            ExtensionFilter extFilter = new ExtensionFilter(String.format("%s (*.%s)", description, extension),
-                    String.format("*.%s", extension));
-            filechooser.getExtensionFilters().add(extFilter);
+            addExtensionFilters(filechooser);
             File selectedFile = filechooser.showOpenDialog(appTemplate.getGUI().getWindow());
             if (selectedFile != null && selectedFile.exists())
-                load(selectedFile.toPath());
-            restoreGUI(); // restores the GUI to reflect the state in which the loaded game was last saved
+                load(selectedFile.toPath()); // restores the GUI once the game has been read
+            else
+                restoreGUI();
         }
     }
 
@@ -443,8 +333,11 @@ public class HangmanController implements FileController {
             boolean exit = true;
             if (gamestate.equals(GameState.INITIALIZED_MODIFIED))
                 exit = promptToSave();
-            if (exit)
+            if (exit) {
+                closeEventLog();
+                autoSaver.close(); // finishes any save still being written
                 System.exit(0);
+            }
         } catch (IOException ioe) {
             AppMessageDialogSingleton dialog = AppMessageDialogSingleton.getSingleton();
             PropertyManager           props  = PropertyManager.getManager();
@@ -452,6 +345,22 @@ public class HangmanController implements FileController {
         }
     }
 
+    /** Offers every kind of saved game: JSON and binary snapshots, and logs of every move. */
+    private static void addExtensionFilters(FileChooser filechooser) {
+        PropertyManager propertyManager = PropertyManager.getManager();
+        filechooser.getExtensionFilters().addAll(
+                extensionFilter(propertyManager.getPropertyValue(WORK_FILE_EXT_DESC),
+                                propertyManager.getPropertyValue(WORK_FILE_EXT)),
+                extensionFilter(propertyManager.getPropertyValue(BINARY_FILE_EXT_DESC),
+                                propertyManager.getPropertyValue(BINARY_FILE_EXT)),
+                extensionFilter(propertyManager.getPropertyValue(EVENT_LOG_FILE_EXT_DESC),
+                                propertyManager.getPropertyValue(EVENT_LOG_FILE_EXT)));
+    }
+
+    private static ExtensionFilter extensionFilter(String description, String extension) {
+        return new ExtensionFilter(String.format("%s (*.%s)", description, extension), String.format("*.%s", extension));
+    }
+
     private void ensureActivatedWorkspace() {
         appTemplate.getWorkspaceComponent().activateWorkspace(appTemplate.getGUI().getAppPane());
     }
@@ -471,43 +380,123 @@ public class HangmanController implements FileController {
 
     /**
      * A helper method to save work. It saves the work, marks the current work file as saved, notifies the user, and
-     * updates the appropriate controls in the user interface
+     * updates the appropriate controls in the user interface. A snapshot is written in the background, and the user is
+     * notified once it has been written (or told that it could not be).
      *
      * @param target The file to which the work will be saved.
      * @throws IOException
      */
     private void save(Path target) throws IOException {
-        appTemplate.getFileComponent().saveData(appTemplate.getDataComponent(), target);
+        if (eventLog != null && target.equals(workFile)) {
+            eventLog.sync(); // every move is in the log already
+        } else if (GameEventLog.isEventLog(target)) {
+            closeEventLog();
+            autoSaver.flush();
+            appTemplate.getFileComponent().saveData(appTemplate.getDataComponent(), target);
+            attachEventLog(target);
+        } else {
+            closeEventLog(); // the snapshot is written in the background, below
+        }
         workFile = target;
         setGameState(GameState.INITIALIZED_UNMODIFIED);
+        if (eventLog == null) {
+            savePending = autoSaver.save((GameData) appTemplate.getDataComponent(), target); // see autoSaved
+            return;
+        }
         AppMessageDialogSingleton dialog = AppMessageDialogSingleton.getSingleton();
         PropertyManager           props  = PropertyManager.getManager();
         dialog.show(props.getPropertyValue(SAVE_COMPLETED_TITLE), props.getPropertyValue(SAVE_COMPLETED_MESSAGE));
     }
 
     /**
-     * A helper method to load saved game data. It loads the game data, notified the user, and then updates the GUI to
-     * reflect the correct state of the game.
+     * A helper method to load saved game data. The file is read on a background thread, so a slow disk does not freeze
+     * the user interface, into a {@link SavedGame} that replaces the game in one step, back on the JavaFX thread. Only
+     * then is the GUI updated, once, and the user notified. Keys are ignored while the game is being read, and taken
+     * again once it is shown, whether or not it could be read (unless the game shown is over).
      *
      * @param source The source data file from which the game is loaded.
-     * @throws IOException
      */
-    private void load(Path source) throws IOException {
-        // load game data
-        appTemplate.getFileComponent().loadData(appTemplate.getDataComponent(), source);
+    private void load(Path source) {
+        closeEventLog();
+        appTemplate.getGUI().getPrimaryScene().setOnKeyTyped(null);
+        GameDataFile file   = (GameDataFile) appTemplate.getFileComponent();
+        Thread       loader = new Thread(() -> {
+            SavedGame saved = null;
+            try {
+                autoSaver.flush(); // the file may still be being saved
+                saved = file.read(source); // only a game that can be played on is returned
+            } catch (IOException | RuntimeException e) {
+                e.printStackTrace();
+            }
+            SavedGame game = saved;
+            Platform.runLater(() -> {
+                try {
+                    if (game != null)
+                        loaded(source, game);
+                    else
+                        loadFailed(); // the game is left as it was
+                } finally {
+                    if (hasGame() && engine != null && !engine.isOver())
+                        appTemplate.getGUI().getPrimaryScene().setOnKeyTyped(this::handleKeyTyped);
+                }
+            });
+        }, "hangman-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * Shows the game as it was before the load was attempted, if there was one, and tells the user that the file could
+     * not be read. With no game to show (e.g., a load right after starting), the workspace is left alone.
+     */
+    private void loadFailed() {
+        if (hasGame())
+            restoreGUI();
+        AppMessageDialogSingleton dialog = AppMessageDialogSingleton.getSingleton();
+        PropertyManager           props  = PropertyManager.getManager();
+        dialog.show(props.getPropertyValue(LOAD_ERROR_TITLE), props.getPropertyValue(LOAD_ERROR_MESSAGE));
+    }
+
+    /** Replaces the game with one that was read from the given file, and shows it. */
+    private void loaded(Path source, SavedGame saved) {
+        gamedata = (GameData) appTemplate.getDataComponent();
+        gamedata.restore(saved);
+        try {
+            if (GameEventLog.isEventLog(source)) // keep appending to it
+                attachEventLog(source);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
 
         // set the work file as the file from which the game was loaded
         workFile = source;
+        setGameState(GameState.INITIALIZED_UNMODIFIED);
+        ensureActivatedWorkspace();
+        restoreGUI();
 
         // notify the user that load was successful
         AppMessageDialogSingleton dialog = AppMessageDialogSingleton.getSingleton();
         PropertyManager           props  = PropertyManager.getManager();
         dialog.show(props.getPropertyValue(LOAD_COMPLETED_TITLE), props.getPropertyValue(LOAD_COMPLETED_MESSAGE));
+    }
 
-        setGameState(GameState.INITIALIZED_UNMODIFIED);
-        Workspace gameworkspace = (Workspace) appTemplate.getWorkspaceComponent();
-        ensureActivatedWorkspace();
-        gameworkspace.reinitialize();
-        gamedata = (GameData) appTemplate.getDataComponent();
+    /** Appends every move from now on to the given log, which must already hold the game so far. */
+    private void attachEventLog(Path log) throws IOException {
+        eventLog = GameEventLog.append(log);
+        if (engine != null)
+            engine.setEventLog(eventLog);
+    }
+
+    private void closeEventLog() {
+        if (eventLog == null)
+            return;
+        if (engine != null)
+            engine.setEventLog(null);
+        try {
+            eventLog.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        eventLog = null;
     }
 }
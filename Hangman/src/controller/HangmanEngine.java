@@ -0,0 +1,151 @@
+package controller;
+
+import data.Difficulty;
+import data.GameData;
+import data.GameEventLog;
+import data.WordDictionary;
+
+/**
+ * The rules of Hangman (guess resolution, the hint and its penalty, and win/loss detection), on top of a
+ * {@link GameData}. This class has no user interface at all and does not use JavaFX, so games can be played
+ * headlessly, e.g., in simulations, tests and servers. {@link HangmanController} drives one of these for the game
+ * shown in the workspace, and only takes care of reflecting the outcome of every move on the screen.
+ *
+ * @author Andy Lau
+ */
+public class HangmanEngine {
+
+    /** The outcome of a guess. */
+    public enum GuessResult {
+        INVALID,         // the character is not a letter that can be guessed
+        ALREADY_GUESSED, // the letter has been guessed before; nothing changed
+        GOOD,            // the letter occurs in the target word
+        BAD,             // the letter does not occur in the target word, and a guess was lost
+        GAME_OVER        // the game had already ended; nothing changed
+    }
+
+    private final GameData      gamedata;
+    private final HangmanSolver solver; // chooses the letter revealed by the hint
+    private GameEventLog        log;    // where the moves are recorded, if anywhere
+
+    public HangmanEngine(GameData gamedata) {
+        this(gamedata, new HangmanSolver(WordDictionary.getInstance()));
+    }
+
+    public HangmanEngine(GameData gamedata, HangmanSolver solver) {
+        this.gamedata = gamedata;
+        this.solver = solver;
+    }
+
+    public GameData getGameData() {
+        return gamedata;
+    }
+
+    public GameEventLog getEventLog() {
+        return log;
+    }
+
+    /**
+     * Records every move from now on in the given log, or in none if it is <code>null</code>. The game in progress is
+     * not recorded; see {@link GameEventLog#snapshot(GameData)}.
+     */
+    public void setEventLog(GameEventLog log) {
+        this.log = log;
+    }
+
+    /** Starts a new game with a random target word. */
+    public void newGame() {
+        gamedata.init();
+        gamedata.setIsHintUsed(false);
+        if (log != null)
+            log.gameStarted(gamedata.getTargetWord());
+    }
+
+    /** Starts a new game with a random target word of the given difficulty and (inclusive) length range. */
+    public void newGame(Difficulty difficulty, int minLength, int maxLength) {
+        gamedata.init(difficulty, minLength, maxLength);
+        gamedata.setIsHintUsed(false);
+        if (log != null)
+            log.gameStarted(gamedata.getTargetWord());
+    }
+
+    /**
+     * Plays a guess. The guess is case-insensitive.
+     *
+     * @param c the guessed letter.
+     * @return the outcome of the guess; the positions revealed by a good guess are
+     * {@link GameData#positionsOf(char) gamedata.positionsOf(c)}.
+     */
+    public GuessResult guess(char c) {
+        if (isOver())
+            return GuessResult.GAME_OVER;
+        char letter = Character.toLowerCase(c);
+        if (!GameData.isGuessable(letter))
+            return GuessResult.INVALID;
+        if (gamedata.alreadyGuessed(letter))
+            return GuessResult.ALREADY_GUESSED;
+
+        gamedata.addAllGuesses(letter);
+        boolean good = gamedata.positionsOf(letter) != 0;
+        if (good)
+            gamedata.addGoodGuess(letter);
+        else
+            gamedata.addBadGuess(letter);
+        if (log != null) {
+            log.guessed(letter);
+            logIfOver();
+        }
+        return good ? GuessResult.GOOD : GuessResult.BAD;
+    }
+
+    /** @return whether the target word is long enough to be offered a hint at all. */
+    public boolean isHintOffered() {
+        return gamedata.needsHint();
+    }
+
+    /**
+     * @return whether the hint can be taken now: it is offered, it has not been used yet, the game is not over, and
+     * there are enough guesses left to pay for it.
+     */
+    public boolean isHintAvailable() {
+        return isHintOffered() && !gamedata.isHintUsed() && !isOver() && gamedata.getRemainingGuesses() > 1;
+    }
+
+    /**
+     * Takes the hint, at the cost of one guess. The hint reveals every occurrence of one of the hidden letters of the
+     * target word: the one that the {@link HangmanSolver} would most like to know about.
+     *
+     * @return the revealed letter, or <code>0</code> if the hint is not available.
+     */
+    public char hint() {
+        if (!isHintAvailable())
+            return 0;
+        char letter = solver.bestGuess(gamedata, gamedata.getTargetLetterMask() & ~gamedata.getGoodGuessMask());
+        gamedata.addGoodGuess(letter);
+        gamedata.addBadGuess(letter);
+        gamedata.addAllGuesses(letter);
+        gamedata.setIsHintUsed(true);
+        if (log != null) {
+            log.hinted(letter);
+            logIfOver();
+        }
+        return letter;
+    }
+
+    private void logIfOver() {
+        if (isOver())
+            log.gameEnded(isWon());
+    }
+
+    public boolean isWon() {
+        return gamedata.isWordRevealed();
+    }
+
+    public boolean isLost() {
+        return gamedata.getRemainingGuesses() <= 0 && !isWon();
+    }
+
+    public boolean isOver() {
+        return isWon() || isLost();
+    }
+}
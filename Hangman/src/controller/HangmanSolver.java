@@ -0,0 +1,163 @@
+package controller;
+
+import data.CandidateSet;
+import data.GameData;
+import data.WordDictionary;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Plays Hangman by elimination. The candidates are the target words of the dictionary that agree with everything the
+ * player knows: they have the length of the target word, show the revealed letters at the revealed positions, do not
+ * have a correctly guessed letter at any hidden position, and do not contain any wrongly guessed letter. Of the letters
+ * not guessed yet, the solver picks the one with the highest expected information gain, i.e., the one whose outcome
+ * (the set of positions at which it would be revealed, if any) is the most uncertain over the candidates.
+ * <p>
+ * The solver powers the hint, which reveals the best of the letters that are in the target word, and self-play, which
+ * can be tried from the <code>Hangman</code> directory with
+ * <pre>
+ *     java controller.HangmanSolver [games]
+ * </pre>
+ * The candidates of a game are kept by its {@link CandidateSet}, which shrinks with every guess instead of being filtered
+ * again, and which also counts the candidates containing each letter. The positions of every letter are collected in
+ * one pass over the candidates, and the letters are scored in parallel; a move takes milliseconds even at the start of
+ * a game. A solver made for callers that are parallel already, e.g., simulations, scores them on the calling thread.
+ *
+ * @author Andy Lau
+ */
+public class HangmanSolver {
+
+    private static final int ALPHABET_SIZE = 26;
+
+    private final WordDictionary dictionary;
+    private final boolean        parallel; // whether the letters are scored on the common fork-join pool
+
+    public HangmanSolver(WordDictionary dictionary) {
+        this(dictionary, true);
+    }
+
+    /** @param parallel whether to score the letters in parallel, rather than on the calling thread. */
+    public HangmanSolver(WordDictionary dictionary, boolean parallel) {
+        this.dictionary = dictionary;
+        this.parallel = parallel;
+    }
+
+    public static void main(String[] args) {
+        int           games  = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        HangmanSolver solver = new HangmanSolver(WordDictionary.getInstance());
+        HangmanEngine engine = new HangmanEngine(new GameData(null), solver);
+
+        int  won   = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < games; i++) {
+            engine.newGame();
+            if (solver.play(engine))
+                won++;
+            GameData gamedata = engine.getGameData();
+            System.out.printf("%-20s %s with %d guesses left%n", gamedata.getTargetWord(),
+                              engine.isWon() ? "won" : "lost", gamedata.getRemainingGuesses());
+        }
+        System.out.printf("Won %d of %d games, in %d ms per game.%n",
+                          won, games, (System.nanoTime() - start) / 1_000_000 / Math.max(games, 1));
+    }
+
+    /**
+     * Plays the current game of the given engine to its end.
+     *
+     * @return whether the game was won.
+     */
+    public boolean play(HangmanEngine engine) {
+        while (!engine.isOver()) {
+            char letter = bestGuess(engine.getGameData());
+            if (letter == 0)
+                break;
+            engine.guess(letter);
+        }
+        return engine.isWon();
+    }
+
+    /** @return the best letter to guess next, or <code>0</code> if every letter has been guessed. */
+    public char bestGuess(GameData gamedata) {
+        return bestGuess(gamedata, ~gamedata.getAllGuessMask());
+    }
+
+    /**
+     * @param allowed the set of letters to choose from, as a 26-bit mask; letters that were guessed already are never
+     *                chosen.
+     * @return the best of the allowed letters to guess next, or <code>0</code> if there is none.
+     */
+    public char bestGuess(GameData gamedata, int allowed) {
+        int letters = allowed & ~gamedata.getAllGuessMask() & ((1 << ALPHABET_SIZE) - 1);
+        if (letters == 0)
+            return 0;
+        CandidateSet result = gamedata.getCandidates();
+        if (result.size() == 0)
+            return mostFrequent(letters); // the target word is not in the dictionary; fall back to letter frequency
+
+        long[][]  outcomes = outcomes(result, letters);
+        IntStream range    = IntStream.range(0, ALPHABET_SIZE);
+        double[]  gains    = (parallel ? range.parallel() : range)
+                .mapToDouble(l -> (letters & (1 << l)) == 0 ? -1 : gain(outcomes[l], result.size()))
+                .toArray();
+        int best = -1;
+        for (int l = 0; l < ALPHABET_SIZE; l++)
+            if ((letters & (1 << l)) != 0 && (best < 0 || gains[l] > gains[best]))
+                best = l;
+        return (char) ('a' + best);
+    }
+
+    /**
+     * @return for each of the given letters, the positions at which it occurs in each of the candidates that contain
+     * it; all of them are found in a single pass over the candidates.
+     */
+    private long[][] outcomes(CandidateSet result, int letters) {
+        long[][] outcomes = new long[ALPHABET_SIZE][];
+        int[]    filled   = new int[ALPHABET_SIZE];
+        for (int l = 0; l < ALPHABET_SIZE; l++)
+            outcomes[l] = new long[(letters & (1 << l)) == 0 ? 0 : result.letterCount((char) ('a' + l))];
+
+        long[] positions = new long[ALPHABET_SIZE];
+        for (int i = 0; i < result.size(); i++) {
+            int word = result.get(i);
+            for (int p = 0, length = dictionary.length(word); p < length; p++)
+                positions[(dictionary.charAt(word, p) | 0x20) - 'a'] |= 1L << p; // candidates are letters-only
+            for (int present = dictionary.uniqueLetters(word); present != 0; present &= present - 1) {
+                int l = Integer.numberOfTrailingZeros(present);
+                if ((letters & (1 << l)) != 0)
+                    outcomes[l][filled[l]++] = positions[l];
+                positions[l] = 0;
+            }
+        }
+        return outcomes;
+    }
+
+    /**
+     * @param outcomes the positions of a letter in each of the candidates that contain it.
+     * @param total    the number of candidates.
+     * @return the expected information gain of guessing the letter, in bits, i.e., the entropy of the positions at
+     * which it occurs over the candidates. Ties are broken in favour of letters found in more candidates.
+     */
+    private static double gain(long[] outcomes, int total) {
+        Arrays.sort(outcomes);
+        double entropy = entropyTerm((total - outcomes.length) / (double) total); // the candidates without the letter
+        for (int start = 0, end; start < outcomes.length; start = end) {
+            for (end = start + 1; end < outcomes.length && outcomes[end] == outcomes[start]; end++) ;
+            entropy += entropyTerm((end - start) / (double) total);
+        }
+        return entropy / Math.log(2) + outcomes.length / (total * 1e6);
+    }
+
+    private static double entropyTerm(double p) {
+        return p == 0 ? 0 : -p * Math.log(p);
+    }
+
+    private char mostFrequent(int letters) {
+        int best = -1;
+        for (int l = 0; l < ALPHABET_SIZE; l++)
+            if ((letters & (1 << l)) != 0
+                && (best < 0 || dictionary.letterFrequency((char) ('a' + l)) > dictionary.letterFrequency((char) ('a' + best))))
+                best = l;
+        return (char) ('a' + best);
+    }
+}
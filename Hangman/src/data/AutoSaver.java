@@ -0,0 +1,140 @@
+package data;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Saves games in the background. {@link #save(GameData, Path)} takes a {@link GameData#snapshot() snapshot} of the game
+ * and returns at once; a single background thread writes it through {@link GameDataFile#save(GameData, Path)}, which
+ * replaces the file atomically. Saves that are asked for while a write is in flight are coalesced: only the latest
+ * snapshot for each file is kept, and it is written when the current write is done. So at most one write is ever in
+ * flight, and a burst of moves costs at most two writes however long the disk takes. The {@link Listener} is told when
+ * each write is done, and which saves it covers.
+ *
+ * @author Andy Lau
+ */
+public class AutoSaver implements AutoCloseable {
+
+    /** Told about every background write, whether it succeeds or fails; called on the background thread. */
+    public interface Listener {
+
+        /** The file now holds the game of the given save (as numbered by {@link #save(GameData, Path)}), or a later one. */
+        void saved(Path to, long save);
+
+        void saveFailed(Path to, IOException e);
+    }
+
+    private final GameDataFile    file = new GameDataFile();
+    private final Listener        listener;
+    private final ExecutorService writer;
+    private GameData              pending;     // the latest snapshot that is not being written yet, if any
+    private Path                  pendingPath;
+    private boolean               scheduled;   // whether a write is queued or in flight
+    private long                  requested;   // the number of saves asked for
+    private long                  completed;   // the number of saves written, or superseded by a later one
+
+    public AutoSaver(Listener listener) {
+        this.listener = listener;
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "hangman-autosave");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Saves the game as it is now to the given file, in the background.
+     *
+     * @return the number of this save, which the {@link Listener} is given once it is written.
+     */
+    public long save(GameData gamedata, Path to) {
+        GameData snapshot = gamedata.snapshot();
+        synchronized (this) {
+            if (pending != null && !pendingPath.equals(to))
+                flushPending(); // another file; the pending save of the first one must not be lost
+            pending = snapshot;
+            pendingPath = to;
+            requested++;
+            if (!scheduled) {
+                scheduled = true;
+                writer.execute(this::write);
+            }
+            return requested;
+        }
+    }
+
+    /**
+     * Waits until every save asked for so far has been written.
+     *
+     * @throws InterruptedIOException if the wait is interrupted.
+     */
+    public synchronized void flush() throws InterruptedIOException {
+        long target = requested;
+        try {
+            while (completed < target)
+                wait();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+    }
+
+    /** Writes whatever is pending, and stops the background thread. */
+    @Override
+    public void close() throws InterruptedIOException {
+        flush();
+        writer.shutdown();
+    }
+
+    /**
+     * Waits until the writer has taken the pending save of one file, before a save of another file replaces it; the
+     * lock is held. The save may still be being written, but writes stay in order, so it lands before the next one.
+     */
+    private void flushPending() {
+        boolean interrupted = false;
+        while (pending != null)
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        if (interrupted)
+            Thread.currentThread().interrupt();
+    }
+
+    /** The background writer: writes the latest snapshot until there is none left. */
+    private void write() {
+        while (true) {
+            GameData snapshot;
+            Path     to;
+            long     covered; // the saves that this write brings up to date
+            synchronized (this) {
+                if (pending == null) {
+                    scheduled = false;
+                    return;
+                }
+                snapshot = pending;
+                to = pendingPath;
+                covered = requested;
+                pending = null;
+                pendingPath = null;
+                notifyAll();
+            }
+            try {
+                file.save(snapshot, to);
+                listener.saved(to, covered);
+            } catch (IOException e) {
+                listener.saveFailed(to, e);
+            } catch (RuntimeException e) {
+                listener.saveFailed(to, new IOException(e));
+            }
+            synchronized (this) {
+                completed = covered;
+                notifyAll();
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package data;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * A compact binary form of a saved game, used by {@link GameDataFile} for files with the extension
+ * {@value #EXTENSION}. A game takes 20 bytes plus its target word, e.g., 32 bytes for "cheeseburger" against 100 to
+ * 137 as JSON (more guesses, longer JSON), and is written and read in one go without any parsing:
+ * <pre>
+ *     int    magic       ({@value #MAGIC}, "HMGS")
+ *     byte   version     ({@value #VERSION})
+ *     byte   flags       (bit 0: the hint was used)
+ *     int    good        the guess masks, as kept by {@link GameData}
+ *     int    bad
+ *     int    all
+ *     short  length      the length of the target word in bytes, followed by its UTF-8 bytes
+ * </pre>
+ *
+ * @author Andy Lau
+ */
+public class BinaryGameFile {
+
+    public static final String EXTENSION = "hbin";
+    public static final int    MAGIC     = 0x484D4753;
+    public static final byte   VERSION   = 1;
+
+    private static final int  HEADER_LENGTH = Integer.BYTES + 2 + 3 * Integer.BYTES + Short.BYTES;
+    private static final byte HINT_USED     = 1;
+
+    /** @return whether the given file is named like a binary saved game. */
+    public static boolean isBinary(Path path) {
+        return path.getFileName().toString().endsWith("." + EXTENSION);
+    }
+
+    public static void write(GameData gamedata, Path to) throws IOException {
+        byte[]     word   = gamedata.getTargetWord() == null ? new byte[0]
+                                                             : gamedata.getTargetWord().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_LENGTH + word.length);
+        buffer.putInt(MAGIC)
+              .put(VERSION)
+              .put(gamedata.isHintUsed() ? HINT_USED : 0)
+              .putInt(gamedata.getGoodGuessMask())
+              .putInt(gamedata.getBadGuessMask())
+              .putInt(gamedata.getAllGuessMask())
+              .putShort((short) word.length)
+              .put(word);
+        Files.write(to, buffer.array());
+    }
+
+    /** Reads a saved game. */
+    public static SavedGame read(Path from) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(from));
+        try {
+            if (buffer.getInt() != MAGIC)
+                throw new IOException(String.format("%s is not a saved game.", from));
+            byte version = buffer.get();
+            if (version != VERSION)
+                throw new IOException(String.format("%s was saved in an unknown format (version %d).", from, version));
+            byte   flags = buffer.get();
+            int    good  = buffer.getInt();
+            int    bad   = buffer.getInt();
+            int    all   = buffer.getInt();
+            byte[] word  = new byte[buffer.getShort() & 0xFFFF];
+            buffer.get(word);
+            return new SavedGame(word.length == 0 ? null : new String(word, StandardCharsets.UTF_8),
+                                 good, bad, all, (flags & HINT_USED) != 0);
+        } catch (BufferUnderflowException e) {
+            throw new IOException(String.format("%s is truncated.", from), e);
+        }
+    }
+}
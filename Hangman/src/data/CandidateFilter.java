@@ -0,0 +1,160 @@
+package data;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Finds the target words of the dictionary that fit a Hangman pattern such as <code>_a__e_</code>: they have the
+ * length of the pattern, show its letters at its revealed positions, do not have any of its letters at a hidden
+ * position (a letter that is in the word is revealed everywhere at once), and contain none of the excluded letters.
+ * <p>
+ * Only the target words of the length of the pattern are scanned. They are split into chunks that are filtered in
+ * parallel on a {@link ForkJoinPool}, and each chunk also counts how many of its candidates contain each letter; the
+ * chunks are then merged, in dictionary order, along with their letter histograms. A {@link #sequential} filter scans
+ * them all on the calling thread instead, for callers that run many games in parallel already.
+ *
+ * @author Andy Lau
+ */
+public class CandidateFilter {
+
+    public static final char HIDDEN = '_';
+
+    private static final int ALPHABET_SIZE = 26;
+    private static final int CHUNK_SIZE    = 2048; // words filtered by one task; smaller ranges are not split
+
+    private final WordDictionary dictionary;
+    private final ForkJoinPool   pool; // null if the words are filtered on the calling thread
+
+    public CandidateFilter(WordDictionary dictionary) {
+        this(dictionary, ForkJoinPool.commonPool());
+    }
+
+    public CandidateFilter(WordDictionary dictionary, ForkJoinPool pool) {
+        this.dictionary = dictionary;
+        this.pool = pool;
+    }
+
+    /** @return a filter that runs on the calling thread only, so that threads filtering at once do not share a pool. */
+    public static CandidateFilter sequential(WordDictionary dictionary) {
+        return new CandidateFilter(dictionary, null);
+    }
+
+    /** The candidates that fit a pattern, and how many of them contain each letter. */
+    public static class Result {
+
+        private final int[] candidates;
+        private final int[] letterCounts;
+
+        private Result(int[] candidates, int[] letterCounts) {
+            this.candidates = candidates;
+            this.letterCounts = letterCounts;
+        }
+
+        /** @return the indices of the candidate words, in dictionary order within each difficulty. */
+        public int[] getCandidates() {
+            return candidates;
+        }
+
+        public int size() {
+            return candidates.length;
+        }
+
+        /** @return the number of candidates that contain the given letter. */
+        public int letterCount(char letter) {
+            return letterCounts[(letter | 0x20) - 'a'];
+        }
+    }
+
+    /**
+     * @param pattern  the pattern, with {@link #HIDDEN} at the hidden positions; case-insensitive.
+     * @param excluded the letters that are not in the word, as a 26-bit mask (see {@link GameData#letterBit(char)}).
+     * @return the words that fit the pattern and contain none of the excluded letters.
+     */
+    public Result filter(String pattern, int excluded) {
+        char[] letters  = pattern.toLowerCase().toCharArray();
+        int    revealed = 0;
+        for (char c : letters)
+            if (c != HIDDEN)
+                revealed |= GameData.letterBit(c);
+        if (letters.length == 0 || letters.length > dictionary.maxLength() || (revealed & excluded) != 0)
+            return new Result(new int[0], new int[ALPHABET_SIZE]);
+
+        Result result = null;
+        for (Difficulty difficulty : Difficulty.values()) {
+            int        start = dictionary.validStart(difficulty, letters.length);
+            int        end   = dictionary.validStart(difficulty, letters.length + 1);
+            FilterTask task  = new FilterTask(letters, revealed, excluded, start, end);
+            Result     part  = pool == null ? task.scan() : pool.invoke(task);
+            result = result == null ? part : merge(result, part);
+        }
+        return result;
+    }
+
+    private static Result merge(Result left, Result right) {
+        int[] candidates = Arrays.copyOf(left.candidates, left.candidates.length + right.candidates.length);
+        System.arraycopy(right.candidates, 0, candidates, left.candidates.length, right.candidates.length);
+        int[] letterCounts = left.letterCounts.clone();
+        for (int l = 0; l < ALPHABET_SIZE; l++)
+            letterCounts[l] += right.letterCounts[l];
+        return new Result(candidates, letterCounts);
+    }
+
+    /** Filters a range of the target words, in the order of {@link WordDictionary#validIndex(int)}. */
+    private class FilterTask extends RecursiveTask<Result> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final char[] pattern;
+        private final int    revealed; // the letters shown in the pattern
+        private final int    excluded;
+        private final int    start;
+        private final int    end;
+
+        FilterTask(char[] pattern, int revealed, int excluded, int start, int end) {
+            this.pattern = pattern;
+            this.revealed = revealed;
+            this.excluded = excluded;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected Result compute() {
+            if (end - start > CHUNK_SIZE) {
+                int        middle = (start + end) >>> 1;
+                FilterTask left   = new FilterTask(pattern, revealed, excluded, start, middle);
+                left.fork();
+                Result right = new FilterTask(pattern, revealed, excluded, middle, end).compute();
+                return merge(left.join(), right);
+            }
+            return scan();
+        }
+
+        /** Filters the whole range on this thread. */
+        Result scan() {
+            int[] candidates   = new int[Math.max(end - start, 0)];
+            int[] letterCounts = new int[ALPHABET_SIZE];
+            int   count        = 0;
+            for (int i = start; i < end; i++) {
+                int word    = dictionary.validIndex(i);
+                int letters = dictionary.uniqueLetters(word);
+                if ((letters & excluded) != 0 || (letters & revealed) != revealed || !matches(word))
+                    continue;
+                candidates[count++] = word;
+                for (; letters != 0; letters &= letters - 1)
+                    letterCounts[Integer.numberOfTrailingZeros(letters)]++;
+            }
+            return new Result(Arrays.copyOf(candidates, count), letterCounts);
+        }
+
+        private boolean matches(int word) {
+            for (int i = 0; i < pattern.length; i++) {
+                char c = Character.toLowerCase(dictionary.charAt(word, i));
+                if (pattern[i] == HIDDEN ? (GameData.letterBit(c) & revealed) != 0 : c != pattern[i])
+                    return false;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package data;
+
+import java.util.Arrays;
+
+/**
+ * The dictionary words that the target word of one game may still be, kept up to date as the guesses come in. Each
+ * guess can only shrink the set, so it is filtered once, by a {@link CandidateFilter}, when it is first asked for, and
+ * from then on {@link GameData#addGoodGuess(char)} and {@link GameData#addBadGuess(char)} only re-check the surviving
+ * words. The number of survivors and how many of them contain each letter are kept along with them, and are updated
+ * in the same pass, so every operation takes time proportional to the survivors at most.
+ * <p>
+ * Like the {@link GameData} that owns it, a candidate set is not thread-safe.
+ *
+ * @author Andy Lau
+ */
+public class CandidateSet {
+
+    private static final int ALPHABET_SIZE = 26;
+
+    private final WordDictionary dictionary;
+    private final int[]          words;        // the survivors are the first size of these, in dictionary order
+    private int                  size;
+    private final int[]          letterCounts; // how many survivors contain each letter
+
+    private CandidateSet(WordDictionary dictionary, CandidateFilter.Result result) {
+        this.dictionary = dictionary;
+        this.words = result.getCandidates();
+        this.size = words.length;
+        this.letterCounts = new int[ALPHABET_SIZE];
+        for (int l = 0; l < ALPHABET_SIZE; l++)
+            letterCounts[l] = result.letterCount((char) ('a' + l));
+    }
+
+    /** The filter shared by every game, created with the first candidate set. */
+    private static class SharedFilter {
+        private static final CandidateFilter INSTANCE = new CandidateFilter(WordDictionary.getInstance());
+    }
+
+    /**
+     * @param filter the filter to find the candidates with, or <code>null</code> for the one shared by every game.
+     * @return the candidates for the target word of the given game, given the guesses made so far.
+     */
+    static CandidateSet of(GameData gamedata, CandidateFilter filter) {
+        String targetword = gamedata.getTargetWord();
+        long   revealed   = gamedata.getRevealedPositions();
+        char[] pattern    = targetword.toLowerCase().toCharArray();
+        for (int i = 0; i < pattern.length; i++)
+            if ((revealed & (1L << i)) == 0)
+                pattern[i] = CandidateFilter.HIDDEN;
+        int bad = gamedata.getBadGuessMask() & ~gamedata.getGoodGuessMask(); // a hint counts as both, but is in the word
+        return new CandidateSet(WordDictionary.getInstance(),
+                                (filter == null ? SharedFilter.INSTANCE : filter).filter(new String(pattern), bad));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** @return the dictionary index of the <code>i</code>-th surviving word. */
+    public int get(int i) {
+        if (i >= size)
+            throw new IndexOutOfBoundsException(String.valueOf(i));
+        return words[i];
+    }
+
+    /** @return the dictionary indices of the surviving words, as a new array. */
+    public int[] toArray() {
+        return Arrays.copyOf(words, size);
+    }
+
+    /** @return the number of surviving words that contain the given letter. */
+    public int letterCount(char letter) {
+        return letterCounts[(letter | 0x20) - 'a'];
+    }
+
+    /** Keeps only the words in which the given letter occurs at exactly the given positions (none at all if 0). */
+    void retainPositions(char letter, long positions) {
+        if (positions == 0) {
+            retainWithout(letter);
+            return;
+        }
+        letter = Character.toLowerCase(letter);
+        int bit   = GameData.letterBit(letter);
+        int count = 0;
+        Arrays.fill(letterCounts, 0);
+        for (int i = 0; i < size; i++) {
+            int word    = words[i];
+            int letters = dictionary.uniqueLetters(word);
+            if ((letters & bit) == 0 ? positions != 0 : positionsOf(word, letter) != positions)
+                continue;
+            words[count++] = word;
+            count(letters);
+        }
+        size = count;
+    }
+
+    /** Keeps only the words in which the given letter does not occur. */
+    void retainWithout(char letter) {
+        int bit = GameData.letterBit(letter);
+        if (bit == 0 || letterCounts[Integer.numberOfTrailingZeros(bit)] == 0)
+            return; // no survivor contains it
+        int count = 0;
+        Arrays.fill(letterCounts, 0);
+        for (int i = 0; i < size; i++) {
+            int word    = words[i];
+            int letters = dictionary.uniqueLetters(word);
+            if ((letters & bit) != 0)
+                continue;
+            words[count++] = word;
+            count(letters);
+        }
+        size = count;
+    }
+
+    private void count(int letters) {
+        for (; letters != 0; letters &= letters - 1)
+            letterCounts[Integer.numberOfTrailingZeros(letters)]++;
+    }
+
+    private long positionsOf(int word, char letter) {
+        long positions = 0;
+        for (int p = 0, length = dictionary.length(word); p < length; p++)
+            if ((dictionary.charAt(word, p) | 0x20) == letter) // candidates are letters-only
+                positions |= 1L << p;
+        return positions;
+    }
+}
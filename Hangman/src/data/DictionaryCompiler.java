@@ -0,0 +1,32 @@
+package data;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Build step that compiles the text word list into the binary form loaded by {@link WordDictionary}. Run it from the
+ * <code>Hangman</code> module directory after changing <code>words.txt</code>:
+ * <pre>
+ *     java data.DictionaryCompiler [source [target]]
+ * </pre>
+ * The source defaults to <code>resources/words/words.txt</code> and the target to
+ * <code>resources/words/words.bin</code>. A compiled file that is missing or stale is simply ignored at runtime, so
+ * forgetting this step only costs start-up time.
+ *
+ * @author Andy Lau
+ */
+public class DictionaryCompiler {
+
+    private static final String DEFAULT_SOURCE = "resources/" + WordDictionary.WORDS_RESOURCE;
+    private static final String DEFAULT_TARGET = "resources/" + WordDictionary.COMPILED_WORDS_RESOURCE;
+
+    public static void main(String[] args) throws IOException {
+        Path source = Paths.get(args.length > 0 ? args[0] : DEFAULT_SOURCE);
+        Path target = Paths.get(args.length > 1 ? args[1] : DEFAULT_TARGET);
+
+        long start = System.nanoTime();
+        WordDictionary.compile(source, target);
+        System.out.printf("Compiled %s into %s in %d ms.%n", source, target, (System.nanoTime() - start) / 1_000_000);
+    }
+}
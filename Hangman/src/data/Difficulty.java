@@ -0,0 +1,13 @@
+package data;
+
+/**
+ * How hard a word is to guess. Words whose letters are common across the dictionary are {@link #EASY}; words made of
+ * rare letters are {@link #HARD}. The dictionary splits its target words into three buckets of roughly equal size.
+ *
+ * @author Andy Lau
+ */
+public enum Difficulty {
+    EASY,
+    MEDIUM,
+    HARD
+}
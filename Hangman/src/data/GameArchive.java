@@ -0,0 +1,294 @@
+package data;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Packs a directory of saved games into one compressed archive, and unpacks it again. The archive is written and read
+ * one chunk at a time, so neither takes more memory for a hundred thousand games than for a hundred:
+ * <pre>
+ *     int    magic       ({@value #MAGIC}, "HMGA")
+ *     byte   version     ({@value #VERSION})
+ *     then, for each chunk:
+ *     int    length      the length of the chunk once inflated; 0 ends the archive
+ *     int    compressed  the length of the deflated chunk, which follows
+ *     int    checksum    the CRC-32 of the inflated chunk
+ * </pre>
+ * An inflated chunk holds whole files, each as a <code>short</code> name length, the UTF-8 name, an <code>int</code>
+ * content length and the content. Chunks are at most {@value #CHUNK_SIZE} bytes, so many small saved games are deflated
+ * together, which compresses them far better than one by one, and a file must fit in a chunk to be archived. The files
+ * are copied as they are, whatever their format.
+ * <p>
+ * From the <code>Hangman</code> directory,
+ * <pre>
+ *     java data.GameArchive export saved games.harc
+ *     java data.GameArchive import games.harc saved
+ * </pre>
+ *
+ * @author Andy Lau
+ */
+public class GameArchive {
+
+    public static final String EXTENSION = "harc";
+    public static final int    MAGIC     = 0x484D4741;
+    public static final byte   VERSION   = 1;
+
+    private static final int CHUNK_SIZE      = 256 * 1024;
+    private static final int COMPRESSED_SIZE = CHUNK_SIZE + CHUNK_SIZE / 8 + 64; // the most a chunk takes once deflated
+    private static final int HEADER_LENGTH   = Integer.BYTES + 1;
+    private static final int CHUNK_HEADER    = 3 * Integer.BYTES;
+
+    /** Receives the files of an archive, one at a time, as they are read. */
+    public interface Visitor {
+
+        /**
+         * @param name    the name of the file.
+         * @param content the content of the file; only valid until this method returns.
+         */
+        void visit(String name, ByteBuffer content) throws IOException;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3 || !(args[0].equals("export") || args[0].equals("import"))) {
+            System.err.println("Usage: java data.GameArchive export directory archive");
+            System.err.println("       java data.GameArchive import archive directory");
+            System.exit(1);
+        }
+        long start = System.nanoTime();
+        int  files = args[0].equals("export") ? export(Paths.get(args[1]), Paths.get(args[2]))
+                                              : extract(Paths.get(args[1]), Paths.get(args[2]));
+        System.out.printf("%sed %d files in %d ms.%n", args[0].equals("export") ? "Export" : "Import", files,
+                          (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Writes every regular file of a directory into a new archive, replacing any file at the given path. The
+     * subdirectories, the temporary files of saves in progress (see {@link GameDataFile#isTempFile(Path)}), and the
+     * archive itself if it is in the directory, are left out.
+     *
+     * @return the number of files archived.
+     * @throws IOException if a file cannot be read, or is too large to fit in a chunk.
+     */
+    public static int export(Path directory, Path archive) throws IOException {
+        try (FileChannel out = FileChannel.open(archive, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                StandardOpenOption.TRUNCATE_EXISTING);
+             DirectoryStream<Path> files = Files.newDirectoryStream(
+                     directory, file -> Files.isRegularFile(file) && !GameDataFile.isTempFile(file));
+             ChunkWriter writer = new ChunkWriter(out)) {
+            int count = 0;
+            for (Path file : files) {
+                if (Files.isSameFile(file, archive))
+                    continue;
+                try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+                    writer.add(file.getFileName().toString(), in);
+                }
+                count++;
+            }
+            writer.finish();
+            out.force(false);
+            return count;
+        }
+    }
+
+    /**
+     * Writes the files of an archive into a directory, creating it if needed and replacing any files of the same
+     * names.
+     *
+     * @return the number of files extracted.
+     */
+    public static int extract(Path archive, Path directory) throws IOException {
+        Files.createDirectories(directory);
+        int[] count = new int[1];
+        read(archive, (name, content) -> {
+            try (FileChannel out = FileChannel.open(directory.resolve(name), StandardOpenOption.CREATE,
+                                                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (content.hasRemaining())
+                    out.write(content);
+            }
+            count[0]++;
+        });
+        return count[0];
+    }
+
+    /** Reads an archive, handing each of its files to the given visitor in the order in which they were archived. */
+    public static void read(Path archive, Visitor visitor) throws IOException {
+        try (FileChannel in = FileChannel.open(archive, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+            readFully(in, header, archive);
+            if (header.getInt() != MAGIC)
+                throw new IOException(String.format("%s is not a game archive.", archive));
+            byte version = header.get();
+            if (version != VERSION)
+                throw new IOException(String.format("%s was archived in an unknown format (version %d).", archive, version));
+
+            ByteBuffer chunkHeader = ByteBuffer.allocate(CHUNK_HEADER);
+            byte[]     compressed  = new byte[0];
+            byte[]     chunk       = new byte[0];
+            Inflater   inflater    = new Inflater();
+            CRC32      checksum    = new CRC32();
+            try {
+                while (true) {
+                    chunkHeader.clear();
+                    readFully(in, chunkHeader, archive);
+                    int length         = chunkHeader.getInt();
+                    int compressedSize = chunkHeader.getInt();
+                    int expected       = chunkHeader.getInt();
+                    if (length == 0)
+                        return;
+                    if (length < 0 || length > CHUNK_SIZE || compressedSize < 0 || compressedSize > COMPRESSED_SIZE)
+                        throw new IOException(String.format("%s is corrupt.", archive)); // before anything is allocated
+                    if (compressed.length < compressedSize)
+                        compressed = new byte[compressedSize];
+                    if (chunk.length < length)
+                        chunk = new byte[length];
+                    readFully(in, ByteBuffer.wrap(compressed, 0, compressedSize), archive);
+
+                    inflater.reset();
+                    inflater.setInput(compressed, 0, compressedSize);
+                    if (inflater.inflate(chunk, 0, length) != length || !inflater.finished())
+                        throw new IOException(String.format("%s is corrupt.", archive));
+                    checksum.reset();
+                    checksum.update(chunk, 0, length);
+                    if ((int) checksum.getValue() != expected)
+                        throw new IOException(String.format("%s is corrupt.", archive));
+                    visitChunk(ByteBuffer.wrap(chunk, 0, length), visitor, archive);
+                }
+            } catch (DataFormatException e) {
+                throw new IOException(String.format("%s is corrupt.", archive), e);
+            } finally {
+                inflater.end();
+            }
+        }
+    }
+
+    private static void visitChunk(ByteBuffer chunk, Visitor visitor, Path archive) throws IOException {
+        while (chunk.hasRemaining()) {
+            if (chunk.remaining() < Short.BYTES)
+                throw new IOException(String.format("%s is corrupt.", archive));
+            byte[] name = new byte[chunk.getShort() & 0xFFFF];
+            if (chunk.remaining() < name.length + Integer.BYTES)
+                throw new IOException(String.format("%s is corrupt.", archive));
+            chunk.get(name);
+            int length = chunk.getInt();
+            if (length < 0 || chunk.remaining() < length)
+                throw new IOException(String.format("%s is corrupt.", archive));
+            String filename = new String(name, StandardCharsets.UTF_8);
+            if (!isPlainName(filename))
+                throw new IOException(String.format("%s holds a file outside of its directory: %s", archive, filename));
+
+            ByteBuffer content = chunk.slice();
+            content.limit(length);
+            visitor.visit(filename, content);
+            chunk.position(chunk.position() + length);
+        }
+    }
+
+    /** @return whether a name names a file of the directory it is resolved against, and nothing else. */
+    private static boolean isPlainName(String name) {
+        if (name.isEmpty() || name.equals(".") || name.equals("..") || name.indexOf('/') >= 0 || name.indexOf('\\') >= 0)
+            return false;
+        Path path = Paths.get(name);
+        return !path.isAbsolute() && path.getNameCount() == 1;
+    }
+
+    private static void readFully(FileChannel in, ByteBuffer buffer, Path archive) throws IOException {
+        while (buffer.hasRemaining())
+            if (in.read(buffer) < 0)
+                throw new EOFException(String.format("%s is truncated.", archive));
+        buffer.flip();
+    }
+
+    /**
+     * Collects files into a chunk, and deflates and writes it whenever it is full. It must be closed, whether or not the
+     * archive was finished, to free the memory of its deflater.
+     */
+    private static class ChunkWriter implements AutoCloseable {
+
+        private final FileChannel out;
+        private final Deflater    deflater   = new Deflater(Deflater.BEST_SPEED);
+        private final CRC32       checksum   = new CRC32();
+        private final ByteBuffer  chunk      = ByteBuffer.allocate(CHUNK_SIZE);
+        private final byte[]      compressed = new byte[COMPRESSED_SIZE];
+
+        ChunkWriter(FileChannel out) throws IOException {
+            this.out = out;
+            ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+            header.putInt(MAGIC).put(VERSION).flip();
+            try {
+                write(header);
+            } catch (IOException e) {
+                deflater.end(); // the writer is not closed, as it was never made
+                throw e;
+            }
+        }
+
+        void add(String name, FileChannel in) throws IOException {
+            byte[] filename = name.getBytes(StandardCharsets.UTF_8);
+            long   size     = in.size();
+            if (filename.length > 0xFFFF || size > CHUNK_SIZE - filename.length - Short.BYTES - Integer.BYTES)
+                throw new IOException(String.format("%s is too large to be archived.", name));
+            int length = Short.BYTES + filename.length + Integer.BYTES + (int) size;
+            if (chunk.remaining() < length)
+                flush();
+
+            chunk.putShort((short) filename.length).put(filename).putInt((int) size);
+            int end = chunk.position() + (int) size;
+            chunk.limit(end); // so that a file that grew since its size was read cannot run into the next entry
+            try {
+                while (chunk.position() < end)
+                    if (in.read(chunk) < 0)
+                        throw new IOException(String.format("%s changed while it was archived.", name));
+            } finally {
+                chunk.limit(chunk.capacity());
+            }
+        }
+
+        void finish() throws IOException {
+            if (chunk.position() > 0)
+                flush();
+            ByteBuffer end = ByteBuffer.allocate(CHUNK_HEADER);
+            end.putInt(0).putInt(0).putInt(0).flip();
+            write(end);
+        }
+
+        @Override
+        public void close() {
+            deflater.end();
+        }
+
+        private void flush() throws IOException {
+            int length = chunk.position();
+            checksum.reset();
+            checksum.update(chunk.array(), 0, length);
+            deflater.reset();
+            deflater.setInput(chunk.array(), 0, length);
+            deflater.finish();
+            int compressedSize = 0;
+            while (!deflater.finished())
+                compressedSize += deflater.deflate(compressed, compressedSize, compressed.length - compressedSize);
+
+            ByteBuffer header = ByteBuffer.allocate(CHUNK_HEADER);
+            header.putInt(length).putInt(compressedSize).putInt((int) checksum.getValue()).flip();
+            write(header);
+            write(ByteBuffer.wrap(compressed, 0, compressedSize));
+            chunk.clear();
+        }
+
+        private void write(ByteBuffer buffer) throws IOException {
+            while (buffer.hasRemaining())
+                out.write(buffer);
+        }
+    }
+}
@@ -5,34 +5,44 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import components.AppDataComponent;
 import components.AppWorkspaceComponent;
 import controller.GameError;
-import javafx.collections.ObservableList;
-import javafx.scene.Node;
-
-import java.io.BufferedReader;
-import java.io.FileReader;
-import java.io.IOException;
-import java.net.URISyntaxException;
-import java.net.URL;
-import java.nio.file.Files;
-import java.nio.file.Paths;
+
 import java.util.*;
-import java.util.stream.Stream;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
+ * The state of a game of Hangman. Guessed letters are kept as 26-bit masks (bit 0 for 'a', bit 25 for 'z'), so
+ * recording and looking up a guess neither boxes nor allocates; only the letters 'a' to 'z' (in either case) can be
+ * guessed. The {@link Set} accessors return read-only snapshots of these masks for code that still wants sets.
+ * <p>
+ * When the target word is set, the positions at which each letter occurs in it are also recorded as a bitmap (bit
+ * <code>i</code> for position <code>i</code>), so resolving a guess, and keeping track of the revealed positions,
+ * takes a single lookup instead of a scan of the word. Target words are therefore limited to
+ * {@link #MAX_WORD_LENGTH} letters. The dictionary words that the target word may still be, which the solver works
+ * from, are kept in a {@link CandidateSet} that is created on demand and shrinks with every guess.
+ *
  * @author Andy Lau, Ritwik Banerjee
  */
 public class GameData implements AppDataComponent {
 
     public static final  int TOTAL_NUMBER_OF_GUESSES_ALLOWED = 10;
-    private static final int TOTAL_NUMBER_OF_STORED_WORDS    = 330622;
+    public static final  int HINT_THRESHOLD                  = 7; // more distinct letters than this earn a hint
+    public static final  int MAX_WORD_LENGTH                 = Long.SIZE;
+    private static final int ALPHABET_SIZE                   = 26;
 
     private String         targetWord;
-    private Set<Character> goodGuesses;
-    private Set<Character> badGuesses;
-    private Set<Character> allGuesses;
+    private int            targetLetters; // the set of distinct letters in the target word, as a 26-bit mask
+    private final long[]   letterPositions = new long[ALPHABET_SIZE]; // where each letter occurs in the target word
+    private long           revealed;      // the positions of the target word uncovered by the good guesses
+    private int            goodGuesses;   // the letters guessed correctly (or revealed by the hint)
+    private int            badGuesses;    // the letters guessed wrongly (or revealed by the hint)
+    private int            allGuesses;    // every letter guessed so far
     private int            remainingGuesses;
     public  AppTemplate    appTemplate;
     private boolean        hintUsed;
+    private CandidateSet   candidates;    // null until asked for, and whenever the target word or guesses are replaced
+    private int            guessesAllowed = TOTAL_NUMBER_OF_GUESSES_ALLOWED;
+    private int            hintThreshold  = HINT_THRESHOLD;
+    private CandidateFilter candidateFilter; // null for the filter shared by every game
 
     public GameData(AppTemplate appTemplate) {
         this(appTemplate, false);
@@ -41,70 +51,105 @@ public class GameData implements AppDataComponent {
     public GameData(AppTemplate appTemplate, boolean initiateGame) {
         if (initiateGame) {
             this.appTemplate = appTemplate;
-            this.targetWord = setTargetWord();
-            this.goodGuesses = new HashSet<>();
-            this.badGuesses = new HashSet<>();
-            this.allGuesses = new HashSet<>();
-            this.remainingGuesses = TOTAL_NUMBER_OF_GUESSES_ALLOWED;
+            init();
         } else {
             this.appTemplate = appTemplate;
         }
     }
 
     public void init() {
-        this.targetWord = setTargetWord();
-        this.goodGuesses = new HashSet<>();
-        this.badGuesses = new HashSet<>();
-        this.allGuesses = new HashSet<>();
-        this.remainingGuesses = TOTAL_NUMBER_OF_GUESSES_ALLOWED;
+        init(WordDictionary.getInstance().randomValidIndex(ThreadLocalRandom.current()));
+    }
+
+    /**
+     * Starts a new game whose target word has the given difficulty and a length within the given (inclusive) bounds.
+     */
+    public void init(Difficulty difficulty, int minLength, int maxLength) {
+        init(WordDictionary.getInstance().randomValidIndex(ThreadLocalRandom.current(), difficulty, minLength, maxLength));
+    }
+
+    private void init(int wordIndex) {
+        this.targetWord = WordDictionary.getInstance().getWord(wordIndex);
+        this.goodGuesses = 0;
+        this.badGuesses = 0;
+        this.allGuesses = 0;
+        this.remainingGuesses = guessesAllowed;
+        indexTargetWord();
+    }
+
+    /** Records where each letter occurs in the target word, and which of those positions are already revealed. */
+    private void indexTargetWord() {
+        if (targetWord != null && targetWord.length() > MAX_WORD_LENGTH)
+            throw new GameError(String.format("Target words cannot be longer than %d letters.", MAX_WORD_LENGTH));
+        Arrays.fill(letterPositions, 0L);
+        targetLetters = 0;
+        for (int i = 0; targetWord != null && i < targetWord.length(); i++) {
+            int bit = letterBit(targetWord.charAt(i));
+            if (bit != 0) {
+                letterPositions[Integer.numberOfTrailingZeros(bit)] |= 1L << i;
+                targetLetters |= bit;
+            }
+        }
+        candidates = null;
+        revealed = 0;
+        for (int letters = goodGuesses; letters != 0; letters &= letters - 1)
+            revealed |= letterPositions[Integer.numberOfTrailingZeros(letters)];
     }
 
     @Override
     public void reset() {
         this.targetWord = null;
-        this.goodGuesses = new HashSet<>();
-        this.badGuesses = new HashSet<>();
-        this.allGuesses = new HashSet<>();
-        this.remainingGuesses = TOTAL_NUMBER_OF_GUESSES_ALLOWED;
-        appTemplate.getWorkspaceComponent().reloadWorkspace();
+        this.goodGuesses = 0;
+        this.badGuesses = 0;
+        this.allGuesses = 0;
+        this.remainingGuesses = guessesAllowed;
+        indexTargetWord();
+        if (appTemplate != null) // a headless game has no workspace to reload
+            appTemplate.getWorkspaceComponent().reloadWorkspace();
     }
 
-    public String getTargetWord() {
-        return targetWord;
+    /**
+     * @return a headless copy of the game as it is now, e.g., to be saved in the background while the game goes on. The
+     * copy shares nothing with this game, and is not reset with it.
+     */
+    public GameData snapshot() {
+        GameData copy = new GameData(null);
+        copy.targetWord = targetWord;
+        copy.targetLetters = targetLetters;
+        System.arraycopy(letterPositions, 0, copy.letterPositions, 0, ALPHABET_SIZE);
+        copy.revealed = revealed;
+        copy.goodGuesses = goodGuesses;
+        copy.badGuesses = badGuesses;
+        copy.allGuesses = allGuesses;
+        copy.remainingGuesses = remainingGuesses;
+        copy.hintUsed = hintUsed;
+        copy.guessesAllowed = guessesAllowed;
+        copy.hintThreshold = hintThreshold;
+        return copy;
     }
 
-    private String setTargetWord() {
-        URL wordsResource = getClass().getClassLoader().getResource("words/words.txt");
-        assert wordsResource != null;
-
-        try(BufferedReader reader = new BufferedReader(new FileReader(wordsResource.getPath()))){
-            String line = reader.readLine();
-            List<String> lines = new ArrayList<String>();
-            while (line!= null){
-                lines.add(line);
-                line = reader.readLine();
-            }
-            boolean flag = true;
-            while(flag) {
-                Random r = new Random();
-                String randomWord = lines.get(r.nextInt(lines.size()));
-                if (checkValidWord(randomWord)) {
-                    return randomWord;
-                }
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-            System.exit(1);
-        }
+    /**
+     * Replaces the whole game with a saved one, in one step. Unlike {@link #reset()} followed by the guesses one by
+     * one, this neither reloads the workspace nor replays the bad guesses, so the caller updates the view once, when
+     * it is done.
+     */
+    public void restore(SavedGame saved) {
+        this.targetWord = saved.getTargetWord();
+        this.goodGuesses = saved.getGoodGuessMask();
+        this.badGuesses = saved.getBadGuessMask();
+        this.allGuesses = saved.getAllGuessMask();
+        this.hintUsed = saved.isHintUsed();
+        this.remainingGuesses = guessesAllowed - Integer.bitCount(badGuesses);
+        indexTargetWord();
+    }
 
-        throw new GameError("Unable to load initial target word.");
+    public String getTargetWord() {
+        return targetWord;
     }
 
     public boolean checkValidWord(String word) {
-        char[] chars = word.toCharArray();
-
-        for (char c : chars) {
-            if (!Character.isLetter(c)) {
+        for (int i = 0; i < word.length(); i++) {
+            if (!Character.isLetter(word.charAt(i))) {
                 return false;
             }
         }
@@ -112,15 +157,97 @@ public class GameData implements AppDataComponent {
     }
 
     public boolean checkNeedHint(String word){
+        if (word.equals(targetWord))
+            return needsHint();
         long uniqueChars = word.chars().distinct().count();
-        return uniqueChars > 7;
+        return uniqueChars > hintThreshold;
+    }
+
+    /** @return the set of distinct letters in the target word, as a 26-bit mask. */
+    public int getTargetLetterMask() {
+        return targetLetters;
+    }
+
+    /** @return whether the target word has enough distinct letters for the player to be offered a hint. */
+    public boolean needsHint() {
+        return Integer.bitCount(targetLetters) > hintThreshold;
+    }
+
+    public int getGuessesAllowed() {
+        return guessesAllowed;
+    }
+
+    /**
+     * Changes the number of wrong guesses allowed in a game, from {@link #TOTAL_NUMBER_OF_GUESSES_ALLOWED}, starting
+     * with the next game. This is for tuning, e.g., in simulations; the workspace always draws ten parts.
+     */
+    public GameData setGuessesAllowed(int guessesAllowed) {
+        this.guessesAllowed = guessesAllowed;
+        return this;
+    }
+
+    public int getHintThreshold() {
+        return hintThreshold;
+    }
+
+    /** Changes how many distinct letters a target word must have more than to earn a hint, from {@link #HINT_THRESHOLD}. */
+    public GameData setHintThreshold(int hintThreshold) {
+        this.hintThreshold = hintThreshold;
+        return this;
+    }
+
+    /**
+     * Changes the filter that finds the candidates of the games, from the parallel one shared by every game, e.g., to a
+     * {@link CandidateFilter#sequential sequential} one in simulations that play many games in parallel already.
+     */
+    public GameData setCandidateFilter(CandidateFilter candidateFilter) {
+        this.candidateFilter = candidateFilter;
+        return this;
     }
 
     public GameData setTargetWord(String targetWord) {
         this.targetWord = targetWord;
+        indexTargetWord();
         return this;
     }
 
+    /** @return the positions at which the given letter occurs in the target word, as a bitmap. */
+    public long positionsOf(char c) {
+        int bit = letterBit(c);
+        return bit == 0 ? 0L : letterPositions[Integer.numberOfTrailingZeros(bit)];
+    }
+
+    /** @return the positions of the target word that have been revealed so far, as a bitmap. */
+    public long getRevealedPositions() {
+        return revealed;
+    }
+
+    public int getRevealedCount() {
+        return Long.bitCount(revealed);
+    }
+
+    /** @return the dictionary words that the target word may still be, given the guesses made so far. */
+    public CandidateSet getCandidates() {
+        if (candidates == null)
+            candidates = CandidateSet.of(this, candidateFilter);
+        return candidates;
+    }
+
+    public boolean isWordRevealed() {
+        return targetWord != null && Long.bitCount(revealed) == targetWord.length();
+    }
+
+    /** @return the bit that stands for the given letter in a guess mask, or 0 if it is not a letter from 'a' to 'z'. */
+    public static int letterBit(char c) {
+        char lower = (char) (c | 0x20);
+        return lower >= 'a' && lower <= 'z' ? 1 << (lower - 'a') : 0;
+    }
+
+    /** @return whether the given character is a letter that can be guessed. */
+    public static boolean isGuessable(char c) {
+        return letterBit(c) != 0;
+    }
+
     public boolean isHintUsed(){return hintUsed;}
 
     public void setIsHintUsed(boolean hintUsed) {
@@ -128,30 +255,69 @@ public class GameData implements AppDataComponent {
     }
 
     public Set<Character> getGoodGuesses() {
-        return goodGuesses;
+        return new LetterSetView(goodGuesses);
     }
 
     public GameData setGoodGuesses(Set<Character> goodGuesses) {
-        this.goodGuesses = goodGuesses;
+        this.goodGuesses = toMask(goodGuesses);
+        indexTargetWord();
         return this;
     }
 
     public Set<Character> getBadGuesses() {
-        return badGuesses;
+        return new LetterSetView(badGuesses);
     }
 
     public GameData setBadGuesses(Set<Character> badGuesses) {
-        this.badGuesses = badGuesses;
+        this.badGuesses = toMask(badGuesses);
+        this.candidates = null;
         return this;
     }
 
-    public Set<Character> getAllGuesses() {return allGuesses;}
+    public Set<Character> getAllGuesses() {return new LetterSetView(allGuesses);}
 
     public GameData setAllGuesses(Set<Character> allGuesses){
-        this.allGuesses = allGuesses;
+        this.allGuesses = toMask(allGuesses);
         return this;
     }
 
+    public int getGoodGuessMask() {
+        return goodGuesses;
+    }
+
+    public int getBadGuessMask() {
+        return badGuesses;
+    }
+
+    public int getAllGuessMask() {
+        return allGuesses;
+    }
+
+    public boolean isGoodGuess(char c) {
+        return (goodGuesses & letterBit(c)) != 0;
+    }
+
+    public boolean isBadGuess(char c) {
+        return (badGuesses & letterBit(c)) != 0;
+    }
+
+    public boolean isGuessed(char c) {
+        return (allGuesses & letterBit(c)) != 0;
+    }
+
+    /** @return whether the given letter is already among the good or the bad guesses. */
+    public boolean alreadyGuessed(char c) {
+        return ((goodGuesses | badGuesses) & letterBit(c)) != 0;
+    }
+
+    public int getGoodGuessCount() {
+        return Integer.bitCount(goodGuesses);
+    }
+
+    public int getBadGuessCount() {
+        return Integer.bitCount(badGuesses);
+    }
+
     public int getRemainingGuesses() {
         return remainingGuesses;
     }
@@ -161,18 +327,71 @@ public class GameData implements AppDataComponent {
     }
 
     public void addGoodGuess(char c) {
-        goodGuesses.add(c);
+        goodGuesses |= letterBit(c);
+        revealed |= positionsOf(c);
+        if (candidates != null)
+            candidates.retainPositions(c, positionsOf(c));
     }
 
     public void addBadGuess(char c) {
-        if (!badGuesses.contains(c)) {
-            badGuesses.add(c);
+        int bit = letterBit(c);
+        if (bit != 0 && (badGuesses & bit) == 0) {
+            badGuesses |= bit;
             remainingGuesses--;
+            if (candidates != null && (targetLetters & bit) == 0) // the hint is a bad guess of a letter in the word
+                candidates.retainWithout(c);
         }
     }
 
     public void addAllGuesses(char c){
-        allGuesses.add(c);
+        allGuesses |= letterBit(c);
     }
 
-}
\ No newline at end of file
+    private static int toMask(Set<Character> letters) {
+        int mask = 0;
+        for (Character c : letters)
+            mask |= letterBit(c);
+        return mask;
+    }
+
+    /** A read-only view of a guess mask as a set of lower case letters, in alphabetical order. */
+    private static final class LetterSetView extends AbstractSet<Character> {
+
+        private final int mask;
+
+        private LetterSetView(int mask) {
+            this.mask = mask;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof Character && (mask & letterBit((Character) o)) != 0;
+        }
+
+        @Override
+        public int size() {
+            return Integer.bitCount(mask);
+        }
+
+        @Override
+        public Iterator<Character> iterator() {
+            return new Iterator<Character>() {
+                private int remaining = mask;
+
+                @Override
+                public boolean hasNext() {
+                    return remaining != 0;
+                }
+
+                @Override
+                public Character next() {
+                    if (remaining == 0)
+                        throw new NoSuchElementException();
+                    char c = (char) ('a' + Integer.numberOfTrailingZeros(remaining));
+                    remaining &= remaining - 1;
+                    return c;
+                }
+            };
+        }
+    }
+}
@@ -3,12 +3,20 @@ package data;
 import com.fasterxml.jackson.core.*;
 import components.AppDataComponent;
 import components.AppFileComponent;
+import propertymanager.PropertyManager;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.Set;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import static settings.AppPropertyType.APP_TITLE;
+import static settings.InitializationParameters.APP_WORKDIR_PATH;
 
 /**
  * @author Andy Lau, Ritwik Banerjee
@@ -21,13 +29,68 @@ public class GameDataFile implements AppFileComponent {
     public static final String ALL_GUESSES  = "ALL_GUESSES";
     public static final String HINT_USED    = "HINT_USED";
 
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+
     @Override
     public void saveData(AppDataComponent data, Path to) {
-        GameData       gamedata    = (GameData) data;
-        Set<Character> goodguesses = gamedata.getGoodGuesses();
-        Set<Character> badguesses  = gamedata.getBadGuesses();
-        Set<Character> allguesses  = gamedata.getAllGuesses();
+        try {
+            save((GameData) data, to);
+        } catch (IOException e) {
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Saves a snapshot of the game, in the format given by the extension of the file: a file named like a
+     * {@link GameEventLog} is written as a new log holding the game so far, which moves can then be appended to; a file
+     * named like a {@link BinaryGameFile} is written in that compact form; any other file is written as JSON.
+     * <p>
+     * The game is first written to a temporary file next to the target, which is forced to disk and then moved over
+     * the target in one step, so a crash while saving leaves either the previous save or the new one, never a mix.
+     */
+    public void save(GameData gamedata, Path to) throws IOException {
+        Path directory = to.toAbsolutePath().getParent();
+        Path temp      = Files.createTempFile(directory, "." + to.getFileName(), TEMP_FILE_SUFFIX);
+        try {
+            if (GameEventLog.isEventLog(to)) {
+                try (GameEventLog log = GameEventLog.create(temp)) {
+                    log.snapshot(gamedata);
+                }
+            } else if (BinaryGameFile.isBinary(to))
+                BinaryGameFile.write(gamedata, temp);
+            else
+                writeJson(gamedata, temp);
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            try {
+                Files.move(temp, to, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, to, StandardCopyOption.REPLACE_EXISTING);
+            }
+            forceDirectory(directory);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /** @return whether the file is a temporary file written by {@link #save}, e.g., one left behind by a crash. */
+    public static boolean isTempFile(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(".") && name.endsWith(TEMP_FILE_SUFFIX);
+    }
 
+    /** Forces the entry of a file just moved into a directory to disk, where the platform allows it. */
+    private static void forceDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // directories cannot be opened on every platform; the move itself is still atomic
+        }
+    }
+
+    private static void writeJson(GameData gamedata, Path to) throws IOException {
         JsonFactory jsonFactory = new JsonFactory();
 
         try (OutputStream out = Files.newOutputStream(to)) {
@@ -38,80 +101,128 @@ public class GameDataFile implements AppFileComponent {
 
             generator.writeStringField(TARGET_WORD, gamedata.getTargetWord());
 
-            generator.writeFieldName(GOOD_GUESSES);
-            generator.writeStartArray(goodguesses.size());
-            for (Character c : goodguesses)
-                generator.writeString(c.toString());
-            generator.writeEndArray();
+            writeLetters(generator, GOOD_GUESSES, gamedata.getGoodGuessMask());
 
-            generator.writeFieldName(BAD_GUESSES);
-            generator.writeStartArray(badguesses.size());
-            for (Character c : badguesses)
-                generator.writeString(c.toString());
-            generator.writeEndArray();
+            writeLetters(generator, BAD_GUESSES, gamedata.getBadGuessMask());
 
-            generator.writeFieldName(ALL_GUESSES);
-            generator.writeStartArray(allguesses.size());
-            for (Character c : allguesses)
-                generator.writeString(c.toString());
-            generator.writeEndArray();
+            writeLetters(generator, ALL_GUESSES, gamedata.getAllGuessMask());
 
             generator.writeBooleanField(HINT_USED, (Boolean)gamedata.isHintUsed());
 
             generator.writeEndObject();
 
             generator.close();
-
-        } catch (IOException e) {
-            e.printStackTrace();
-            System.exit(1);
         }
     }
 
+    /** Writes the letters of a guess mask as an array of one-letter strings, in alphabetical order. */
+    private static void writeLetters(JsonGenerator generator, String fieldname, int letters) throws IOException {
+        generator.writeFieldName(fieldname);
+        generator.writeStartArray(Integer.bitCount(letters));
+        for (int remaining = letters; remaining != 0; remaining &= remaining - 1)
+            generator.writeString(String.valueOf((char) ('a' + Integer.numberOfTrailingZeros(remaining))));
+        generator.writeEndArray();
+    }
+
+    /** Loads a saved game into the given game data, replacing the whole game at once (see {@link #read(Path)}). */
     @Override
     public void loadData(AppDataComponent data, Path from) throws IOException {
-        GameData gamedata = (GameData) data;
-        gamedata.reset();
+        ((GameData) data).restore(read(from));
+    }
 
-        JsonFactory jsonFactory = new JsonFactory();
-        JsonParser  jsonParser  = jsonFactory.createParser(Files.newInputStream(from));
-
-        while (!jsonParser.isClosed()) {
-            JsonToken token = jsonParser.nextToken();
-            if (JsonToken.FIELD_NAME.equals(token)) {
-                String fieldname = jsonParser.getCurrentName();
-                switch (fieldname) {
-                    case TARGET_WORD:
-                        jsonParser.nextToken();
-                        gamedata.setTargetWord(jsonParser.getValueAsString());
-                        break;
-                    case GOOD_GUESSES:
-                        jsonParser.nextToken();
-                        while (jsonParser.nextToken() != JsonToken.END_ARRAY)
-                            gamedata.addGoodGuess(jsonParser.getText().charAt(0));
-                        break;
-                    case BAD_GUESSES:
-                        jsonParser.nextToken();
-                        while (jsonParser.nextToken() != JsonToken.END_ARRAY)
-                            gamedata.addBadGuess(jsonParser.getText().charAt(0));
-                        break;
-                    case ALL_GUESSES:
-                        jsonParser.nextToken();
-                        while (jsonParser.nextToken() != JsonToken.END_ARRAY)
-                            gamedata.addAllGuesses(jsonParser.getText().charAt(0));
-                        break;
-                    case HINT_USED:
-                        jsonParser.nextToken();
-                        gamedata.setIsHintUsed((jsonParser.getBooleanValue()));
-                        break;
-                    default:
-                        throw new JsonParseException(jsonParser, "Unable to load JSON data");
-                }
+    /**
+     * Reads a saved game, in the format given by the extension of the file (see {@link #save(GameData, Path)}). Nothing
+     * is changed until the whole file has been read, so this may be called on any thread, and a file that cannot be
+     * read leaves the current game as it was. The fields of a JSON save may come in any order.
+     *
+     * @throws IOException if the file cannot be read, or does not hold a game that can be played on (see
+     *                     {@link SavedGame#isValid()}).
+     */
+    public SavedGame read(Path from) throws IOException {
+        SavedGame saved;
+        if (GameEventLog.isEventLog(from)) {
+            saved = GameEventLog.replay(from);
+        } else if (BinaryGameFile.isBinary(from)) {
+            saved = BinaryGameFile.read(from);
+        } else {
+            JsonFactory jsonFactory = new JsonFactory();
+            try (JsonParser jsonParser = jsonFactory.createParser(Files.newInputStream(from))) {
+                saved = readJson(jsonParser);
+            }
+        }
+        if (!saved.isValid())
+            throw new IOException(String.format("%s does not hold a game that can be played.", from));
+        return saved;
+    }
+
+    private static SavedGame readJson(JsonParser jsonParser) throws IOException {
+        String  targetWord = null;
+        int     good       = 0;
+        int     bad        = 0;
+        int     all        = 0;
+        boolean hintUsed   = false;
+        if (jsonParser.nextToken() != JsonToken.START_OBJECT)
+            throw new JsonParseException(jsonParser, "Unable to load JSON data");
+        while (jsonParser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldname = jsonParser.getCurrentName();
+            jsonParser.nextToken();
+            switch (fieldname) {
+                case TARGET_WORD:
+                    targetWord = jsonParser.getValueAsString();
+                    break;
+                case GOOD_GUESSES:
+                    good = readLetters(jsonParser);
+                    break;
+                case BAD_GUESSES:
+                    bad = readLetters(jsonParser);
+                    break;
+                case ALL_GUESSES:
+                    all = readLetters(jsonParser);
+                    break;
+                case HINT_USED:
+                    hintUsed = jsonParser.getBooleanValue();
+                    break;
+                default:
+                    throw new JsonParseException(jsonParser, "Unable to load JSON data");
             }
         }
+        if (jsonParser.getCurrentToken() != JsonToken.END_OBJECT)
+            throw new JsonParseException(jsonParser, "Unable to load JSON data");
+        return new SavedGame(targetWord, good, bad, all, hintUsed);
+    }
+
+    /** Reads an array of one-letter strings, as written by {@link #writeLetters}, into a guess mask. */
+    private static int readLetters(JsonParser jsonParser) throws IOException {
+        if (jsonParser.getCurrentToken() != JsonToken.START_ARRAY)
+            throw new JsonParseException(jsonParser, "Unable to load JSON data");
+        int letters = 0;
+        while (jsonParser.nextToken() == JsonToken.VALUE_STRING) {
+            String letter = jsonParser.getText();
+            if (letter.length() != 1 || !GameData.isGuessable(letter.charAt(0)))
+                throw new JsonParseException(jsonParser, "Unable to load JSON data");
+            letters |= GameData.letterBit(letter.charAt(0));
+        }
+        if (jsonParser.getCurrentToken() != JsonToken.END_ARRAY)
+            throw new JsonParseException(jsonParser, "Unable to load JSON data");
+        return letters;
     }
 
-    /** This method will be used if we need to export data into other formats. */
+    /**
+     * Exports every game saved in the work directory, in whatever format, into one compressed {@link GameArchive}. The
+     * games are streamed into the archive one at a time, so any number of them can be exported.
+     */
     @Override
-    public void exportData(AppDataComponent data, Path filePath) throws IOException { }
+    public void exportData(AppDataComponent data, Path filePath) throws IOException {
+        GameArchive.export(workDirectory(), filePath);
+    }
+
+    /** Imports the games of an archive written by {@link #exportData} into the work directory, one at a time. */
+    public void importData(Path filePath) throws IOException {
+        GameArchive.extract(filePath, workDirectory());
+    }
+
+    private static Path workDirectory() {
+        PropertyManager propertyManager = PropertyManager.getManager();
+        return Paths.get(propertyManager.getPropertyValue(APP_TITLE)).toAbsolutePath().resolve(APP_WORKDIR_PATH.getParameter());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,260 @@
+package data;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An append-only log of the events of a game: games starting and ending, guesses and hints. Unlike a snapshot saved by
+ * {@link GameDataFile}, which rewrites the whole game every time, recording a move only appends a short line to a
+ * buffer, and a background thread writes and forces whatever has been appended to the file. Appends that arrive while
+ * a batch is being forced are committed together in the next batch, so a burst of moves costs a single write. A crash
+ * loses, at most, the moves of the last few milliseconds; {@link #sync()} waits until everything appended so far is on
+ * disk.
+ * <p>
+ * The log is text, one event per line: <code>START word</code>, <code>GUESS letter</code>, <code>HINT letter</code> and
+ * <code>END WON</code> or <code>END LOST</code>. {@link #replay(Path)} rebuilds the last game of a log; a
+ * line torn by a crash ends the replay.
+ *
+ * @author Andy Lau
+ */
+public class GameEventLog implements AutoCloseable {
+
+    public static final String EXTENSION = "hlog";
+
+    private static final String START = "START";
+    private static final String GUESS = "GUESS";
+    private static final String HINT  = "HINT";
+    private static final String END   = "END";
+
+    private final FileChannel channel;
+    private final Thread      committer;
+    private ByteBuffer        pending = ByteBuffer.allocate(1024); // appended, but not written yet
+    private ByteBuffer        writing = ByteBuffer.allocate(1024); // being written and forced by the committer
+    private long              appended;                            // the number of events appended
+    private long              durable;                             // the number of events forced to disk
+    private boolean           closed;
+    private IOException       failure;                             // why the committer stopped, if it failed
+
+    private GameEventLog(FileChannel channel) {
+        this.channel = channel;
+        this.committer = new Thread(this::commit, "hangman-event-log");
+        committer.setDaemon(true);
+        committer.start();
+    }
+
+    /** Opens a log for appending, creating the file if needed. */
+    public static GameEventLog append(Path path) throws IOException {
+        return new GameEventLog(FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                 StandardOpenOption.APPEND));
+    }
+
+    /** Creates a new log, replacing any file at the given path. */
+    public static GameEventLog create(Path path) throws IOException {
+        return new GameEventLog(FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                 StandardOpenOption.TRUNCATE_EXISTING));
+    }
+
+    /** @return whether the given file is named like an event log. */
+    public static boolean isEventLog(Path path) {
+        return path.getFileName().toString().endsWith("." + EXTENSION);
+    }
+
+    public void gameStarted(String targetWord) {
+        append(START + ' ' + targetWord);
+    }
+
+    public void guessed(char letter) {
+        append(GUESS + ' ' + letter);
+    }
+
+    public void hinted(char letter) {
+        append(HINT + ' ' + letter);
+    }
+
+    public void gameEnded(boolean won) {
+        append(END + (won ? " WON" : " LOST"));
+    }
+
+    /**
+     * Records a game in progress as if it had been played from the start, e.g., when a log is first attached to it. The
+     * order of the guesses is not kept by {@link GameData}, so they are recorded in alphabetical order.
+     */
+    public void snapshot(GameData gamedata) {
+        if (gamedata.getTargetWord() == null)
+            return;
+        gameStarted(gamedata.getTargetWord());
+        int hinted = gamedata.isHintUsed() ? gamedata.getGoodGuessMask() & gamedata.getBadGuessMask() : 0;
+        for (int letters = gamedata.getAllGuessMask(); letters != 0; letters &= letters - 1) {
+            int  bit    = letters & -letters;
+            char letter = (char) ('a' + Integer.numberOfTrailingZeros(bit));
+            if ((hinted & bit) != 0)
+                hinted(letter);
+            else
+                guessed(letter);
+        }
+    }
+
+    private synchronized void append(String event) {
+        if (closed || failure != null)
+            return; // the failure is reported by sync
+        byte[] bytes = (event + '\n').getBytes(StandardCharsets.ISO_8859_1);
+        if (pending.remaining() < bytes.length) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(pending.capacity() * 2, pending.position() + bytes.length));
+            pending.flip();
+            larger.put(pending);
+            pending = larger;
+        }
+        pending.put(bytes);
+        appended++;
+        notifyAll();
+    }
+
+    /**
+     * Waits until every event appended so far is on disk.
+     *
+     * @throws IOException if the log could not be written.
+     */
+    public synchronized void sync() throws IOException {
+        long target = appended;
+        try {
+            while (durable < target && failure == null)
+                wait();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+        if (failure != null)
+            throw failure;
+    }
+
+    /** Commits the events appended so far, and closes the file. */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            closed = true;
+            notifyAll();
+        }
+        try {
+            committer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            channel.close();
+        }
+        synchronized (this) {
+            if (failure != null)
+                throw failure;
+        }
+    }
+
+    /** The committer: writes and forces batches of appended events until the log is closed. */
+    private void commit() {
+        while (true) {
+            long batchEnd;
+            synchronized (this) {
+                try {
+                    while (pending.position() == 0 && !closed)
+                        wait();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (pending.position() == 0)
+                    return; // closed, with nothing left to commit
+                ByteBuffer batch = pending;
+                pending = writing;
+                writing = batch;
+                batchEnd = appended;
+            }
+            try {
+                writing.flip();
+                while (writing.hasRemaining())
+                    channel.write(writing);
+                channel.force(false);
+                writing.clear();
+            } catch (IOException e) {
+                synchronized (this) {
+                    failure = e;
+                    notifyAll();
+                }
+                return;
+            }
+            synchronized (this) {
+                durable = batchEnd;
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Rebuilds the last game of a log.
+     *
+     * @throws IOException if the log cannot be read, or contains no game.
+     */
+    public static SavedGame replay(Path path) throws IOException {
+        List<String> events = new ArrayList<>();
+        int          start  = -1; // the last START event
+        byte[]       bytes  = Files.readAllBytes(path);
+        for (int from = 0, to = 0; to < bytes.length; to++) {
+            if (bytes[to] != '\n')
+                continue; // a last line without its terminator was torn by a crash, and is ignored
+            String line = new String(bytes, from, to - from, StandardCharsets.ISO_8859_1);
+            from = to + 1;
+            if (!isEvent(line))
+                break;
+            if (line.startsWith(START))
+                start = events.size();
+            events.add(line);
+        }
+        if (start < 0)
+            throw new IOException("No game found in " + path);
+
+        String  targetWord    = events.get(start).substring(START.length() + 1);
+        int     targetLetters = 0;
+        int     good          = 0;
+        int     bad           = 0;
+        int     all           = 0;
+        boolean hintUsed      = false;
+        for (int i = 0; i < targetWord.length(); i++)
+            targetLetters |= GameData.letterBit(targetWord.charAt(i));
+        for (String event : events.subList(start + 1, events.size())) {
+            int bit = GameData.letterBit(event.charAt(event.length() - 1));
+            if (event.startsWith(GUESS)) {
+                all |= bit;
+                if ((targetLetters & bit) != 0)
+                    good |= bit;
+                else
+                    bad |= bit;
+            } else if (event.startsWith(HINT)) {
+                good |= bit;
+                bad |= bit;
+                all |= bit;
+                hintUsed = true;
+            }
+        }
+        return new SavedGame(targetWord, good, bad, all, hintUsed);
+    }
+
+    private static boolean isEvent(String line) {
+        int space = line.indexOf(' ');
+        if (space < 0 || space == line.length() - 1)
+            return false;
+        switch (line.substring(0, space)) {
+            case START:
+            case END:
+                return true;
+            case GUESS:
+            case HINT:
+                return line.length() == space + 2 && GameData.isGuessable(line.charAt(space + 1));
+            default:
+                return false;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package data;
+
+/**
+ * A saved game as read from a file: the target word, the guess masks (see {@link GameData#letterBit(char)}) and
+ * whether the hint was used. It is immutable, so it can be read on any thread and handed to the thread that owns the
+ * {@link GameData}, which takes it in one step with {@link GameData#restore(SavedGame)}.
+ *
+ * @author Andy Lau
+ */
+public final class SavedGame {
+
+    private final String  targetWord;  // null if no game was being played
+    private final int     goodGuesses;
+    private final int     badGuesses;
+    private final int     allGuesses;
+    private final boolean hintUsed;
+
+    public SavedGame(String targetWord, int goodGuesses, int badGuesses, int allGuesses, boolean hintUsed) {
+        this.targetWord = targetWord;
+        this.goodGuesses = goodGuesses;
+        this.badGuesses = badGuesses;
+        this.allGuesses = allGuesses;
+        this.hintUsed = hintUsed;
+    }
+
+    /** @return the game as it is now. */
+    public static SavedGame of(GameData gamedata) {
+        return new SavedGame(gamedata.getTargetWord(), gamedata.getGoodGuessMask(), gamedata.getBadGuessMask(),
+                             gamedata.getAllGuessMask(), gamedata.isHintUsed());
+    }
+
+    /**
+     * @return whether this is a game that can be played on: a target word of at most {@link GameData#MAX_WORD_LENGTH}
+     * characters, good guesses that are all in the word, bad guesses that are not (but for the letter revealed by the
+     * hint), every guess among all the guesses, and no more bad guesses than a game allows.
+     */
+    public boolean isValid() {
+        if (targetWord == null || targetWord.isEmpty() || targetWord.length() > GameData.MAX_WORD_LENGTH)
+            return false;
+        int letters = 0;
+        for (int i = 0; i < targetWord.length(); i++)
+            letters |= GameData.letterBit(targetWord.charAt(i));
+        return (goodGuesses & ~letters) == 0
+               && Integer.bitCount(badGuesses & letters) <= (hintUsed ? 1 : 0)
+               && ((goodGuesses | badGuesses) & ~allGuesses) == 0
+               && Integer.bitCount(badGuesses) <= GameData.TOTAL_NUMBER_OF_GUESSES_ALLOWED;
+    }
+
+    public String getTargetWord() {
+        return targetWord;
+    }
+
+    public int getGoodGuessMask() {
+        return goodGuesses;
+    }
+
+    public int getBadGuessMask() {
+        return badGuesses;
+    }
+
+    public int getAllGuessMask() {
+        return allGuesses;
+    }
+
+    public boolean isHintUsed() {
+        return hintUsed;
+    }
+}
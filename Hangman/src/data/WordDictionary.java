@@ -0,0 +1,582 @@
+package data;
+
+import controller.GameError;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.zip.CRC32;
+
+/**
+ * The shared, immutable list of words from which target words are chosen. The word list is loaded exactly once per
+ * JVM (the first time {@link #getInstance()} is called) and then reused by every {@link GameData}. The word list is
+ * expected to be ASCII text with one word per line.
+ * <p>
+ * The dictionary is preferably loaded from a compiled binary form of the word list (see {@link DictionaryCompiler}),
+ * which holds the words together with everything that would otherwise be computed from them at runtime. The text word
+ * list is only parsed when the compiled form is missing, of an unknown version, or stale (i.e., it was compiled from a
+ * different text word list than the one on the classpath).
+ * <p>
+ * When the file being loaded is a plain file, it is memory-mapped with {@link FileChannel#map}, so loading it costs no
+ * reads at all and the pages are shared, through the OS page cache, with every other JVM on the host that maps the
+ * same file. When it can only be reached as a stream (e.g., from inside a jar), it is read into a single byte array.
+ * <p>
+ * Either way, the words are never kept as {@link String}s. The bytes hold the words one after another, each followed
+ * by a <code>'\n'</code>, and an offset table records where every word starts. Word <code>i</code> therefore occupies
+ * the bytes <code>[offsets[i], offsets[i + 1] - 1)</code>. The offset table is only built (or read) the first time a
+ * query needs it. Length and letter queries read straight from the bytes; a <code>String</code> is only created when
+ * a caller asks for one with {@link #getWord(int)}.
+ * <p>
+ * Alongside the offset table, the dictionary keeps
+ * <ul>
+ * <li>the set of distinct letters in every word, as a 26-bit mask (bit 0 for 'a', bit 25 for 'z');</li>
+ * <li>for every letter, the number of target words in which it appears;</li>
+ * <li>the rarity of every word, which is the average surprisal (in millibits) of its distinct letters, i.e., the
+ * average of <code>log2(number of target words / number of target words containing the letter)</code>; and</li>
+ * <li>the indices of the words that are acceptable as target words (letters only, and no longer than
+ * {@link GameData#MAX_WORD_LENGTH}), grouped by {@link Difficulty} and, within each difficulty, by length, so that
+ * choosing a target word of any difficulty and from any range of lengths is a single random pick. The difficulty of a
+ * word is the third of the rarity range it falls in.</li>
+ * </ul>
+ *
+ * @author Andy Lau
+ */
+public final class WordDictionary {
+
+    public static final  String       WORDS_RESOURCE               = "words/words.txt";
+    public static final  String       COMPILED_WORDS_RESOURCE      = "words/words.bin";
+    public static final  int          COMPILED_FORMAT_MAGIC        = 0x484D5744; // "HMWD"
+    public static final  int          COMPILED_FORMAT_VERSION      = 3;
+    private static final int          COMPILED_HEADER_LENGTH       = 24;
+    private static final int          TOTAL_NUMBER_OF_STORED_WORDS = 330622;
+    private static final byte         WORD_SEPARATOR               = '\n';
+    private static final int          ALPHABET_SIZE                = 26;
+    private static final Difficulty[] DIFFICULTIES                 = Difficulty.values();
+    private static final int          DIFFICULTY_LEVELS            = DIFFICULTIES.length;
+
+    private final    ByteBuffer source;   // the contents of the loaded file, exactly as loaded
+    private final    boolean    compiled; // whether the source is the compiled form or the text word list
+    private volatile Index      index;    // built from (or read out of) the source on first use
+
+    private WordDictionary(ByteBuffer source, boolean compiled) {
+        this.source = source;
+        this.compiled = compiled;
+    }
+
+    /**
+     * @return the dictionary shared by the whole application, loading it first if this is the first request.
+     */
+    public static WordDictionary getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /** Lazy, thread-safe initialization of the shared instance (initialization-on-demand holder idiom). */
+    private static final class Holder {
+        private static final WordDictionary INSTANCE = load();
+    }
+
+    /**
+     * Loads a new dictionary from the classpath, which is not shared with anybody. Games should use
+     * {@link #getInstance()} instead; this is meant for measuring how long loading takes.
+     */
+    public static WordDictionary load() {
+        return load(WORDS_RESOURCE, COMPILED_WORDS_RESOURCE);
+    }
+
+    private static WordDictionary load(String resource, String compiledResource) {
+        ClassLoader loader        = WordDictionary.class.getClassLoader();
+        URL         wordsResource = loader.getResource(resource);
+        URL         compiledWords = loader.getResource(compiledResource);
+        if (wordsResource == null && compiledWords == null)
+            throw new GameError(String.format("Unable to find the word list \"%s\".", resource));
+
+        try {
+            if (compiledWords != null) {
+                ByteBuffer compiledSource = read(compiledWords);
+                if (wordsResource == null || isCompiledFrom(compiledSource, read(wordsResource)))
+                    return new WordDictionary(compiledSource, true);
+            }
+            return new WordDictionary(read(wordsResource), false);
+        } catch (IOException | URISyntaxException e) {
+            throw new GameError(String.format("Unable to load the word list \"%s\".", resource));
+        }
+    }
+
+    /**
+     * Compiles a text word list into the binary form read by this class. The compiled form consists of a header
+     * (magic number, format version, and the size and CRC-32 of the text it was compiled from), followed by the
+     * number of words, the number of target words, the length of the longest target word and the number of word
+     * bytes, and then the tables: letter frequencies, difficulty cutoffs, bucket starts, word offsets, per-word letter
+     * masks, per-word rarities, target word indices, and finally the word bytes themselves. All numbers are
+     * big-endian.
+     *
+     * @param source the text word list.
+     * @param target the file to which the compiled form is written; it is replaced if it exists.
+     * @throws IOException if either file cannot be read or written.
+     */
+    public static void compile(Path source, Path target) throws IOException {
+        ByteBuffer text  = map(source);
+        Index      words = Index.of(text);
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(target)))) {
+            out.writeInt(COMPILED_FORMAT_MAGIC);
+            out.writeInt(COMPILED_FORMAT_VERSION);
+            out.writeLong(text.limit());
+            out.writeLong(checksum(text));
+            out.writeInt(words.size);
+            out.writeInt(words.valid.length);
+            out.writeInt(words.maxLength);
+            out.writeInt(words.bytes.limit());
+            for (int count : words.letterCounts)
+                out.writeInt(count);
+            for (int cutoff : words.rarityCutoffs)
+                out.writeInt(cutoff);
+            for (int start : words.bucketStarts)
+                out.writeInt(start);
+            for (int offset : words.offsets)
+                out.writeInt(offset);
+            for (int mask : words.masks)
+                out.writeInt(mask);
+            for (int rarity : words.rarities)
+                out.writeInt(rarity);
+            for (int valid : words.valid)
+                out.writeInt(valid);
+            for (int i = 0; i < words.bytes.limit(); i++)
+                out.writeByte(words.bytes.get(i));
+        }
+    }
+
+    /**
+     * @return <code>true</code> if, and only if, the compiled source is of the current version and was compiled from
+     * the given text word list.
+     */
+    private static boolean isCompiledFrom(ByteBuffer compiledSource, ByteBuffer text) {
+        return compiledSource.limit() >= COMPILED_HEADER_LENGTH
+               && compiledSource.getInt(0) == COMPILED_FORMAT_MAGIC
+               && compiledSource.getInt(4) == COMPILED_FORMAT_VERSION
+               && compiledSource.getLong(8) == text.limit()
+               && compiledSource.getLong(16) == checksum(text);
+    }
+
+    private static long checksum(ByteBuffer bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes.duplicate());
+        return crc.getValue();
+    }
+
+    private static ByteBuffer read(URL resource) throws IOException, URISyntaxException {
+        if ("file".equals(resource.getProtocol()))
+            return map(Paths.get(resource.toURI()));
+        try (InputStream in = resource.openStream()) {
+            return ByteBuffer.wrap(readFully(in));
+        }
+    }
+
+    private static ByteBuffer map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    private static byte[] readFully(InputStream in) throws IOException {
+        byte[] buffer = new byte[1 << 16];
+        int    length = 0;
+        int    read;
+        while ((read = in.read(buffer, length, buffer.length - length)) != -1) {
+            length += read;
+            if (length == buffer.length)
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        return Arrays.copyOf(buffer, length);
+    }
+
+    private Index index() {
+        Index result = index;
+        if (result == null) {
+            synchronized (this) {
+                result = index;
+                if (result == null)
+                    index = result = compiled ? Index.read(source) : Index.of(source);
+            }
+        }
+        return result;
+    }
+
+    /** The words, laid out as described above, together with their offset table and statistics. */
+    private static final class Index {
+
+        private final ByteBuffer bytes;         // the words, each one terminated by WORD_SEPARATOR
+        private final int[]      offsets;       // offsets[i] is where word i starts; offsets[size] is past the last word
+        private final int        size;          // the number of words
+        private final int[]      masks;         // masks[i] is the set of distinct letters in word i (0 if not a target)
+        private final int[]      rarities;      // rarities[i] is the rarity of word i (0 if not a target)
+        private final int[]      letterCounts;  // letterCounts[c] is the number of target words containing letter c
+        private final int[]      rarityCutoffs; // the rarities at which MEDIUM and HARD words start
+        private final int        maxLength;     // the length of the longest target word
+        private final int[]      valid;         // the indices of the target words, ordered by bucket
+        private final int[]      bucketStarts;  // the target words in bucket b are valid[bucketStarts[b]..[b + 1])
+
+        private Index(ByteBuffer bytes, int[] offsets, int size) {
+            this.bytes = bytes;
+            this.offsets = offsets;
+            this.size = size;
+            this.masks = new int[size];
+            this.rarities = new int[size];
+            this.letterCounts = new int[ALPHABET_SIZE];
+
+            int validCount = 0;
+            int longest    = 0;
+            for (int i = 0; i < size; i++) {
+                if (!isTargetWord(i))
+                    continue;
+                validCount++;
+                longest = Math.max(longest, offsets[i + 1] - offsets[i] - 1);
+                for (int j = offsets[i]; j < offsets[i + 1] - 1; j++)
+                    masks[i] |= 1 << ((bytes.get(j) | 0x20) - 'a');
+                for (int letters = masks[i]; letters != 0; letters &= letters - 1)
+                    letterCounts[Integer.numberOfTrailingZeros(letters)]++;
+            }
+            this.maxLength = longest;
+
+            double[] surprisals = new double[ALPHABET_SIZE];
+            for (int c = 0; c < ALPHABET_SIZE; c++)
+                surprisals[c] = letterCounts[c] == 0 ? 0 : Math.log((double) validCount / letterCounts[c]) / Math.log(2);
+            int[] sortedRarities = new int[validCount];
+            int   k              = 0;
+            for (int i = 0; i < size; i++) {
+                if (masks[i] == 0)
+                    continue;
+                double surprisal = 0;
+                for (int letters = masks[i]; letters != 0; letters &= letters - 1)
+                    surprisal += surprisals[Integer.numberOfTrailingZeros(letters)];
+                rarities[i] = (int) Math.round(1000 * surprisal / Integer.bitCount(masks[i]));
+                sortedRarities[k++] = rarities[i];
+            }
+            Arrays.sort(sortedRarities);
+            this.rarityCutoffs = new int[DIFFICULTY_LEVELS - 1];
+            for (int d = 1; d < DIFFICULTY_LEVELS; d++)
+                rarityCutoffs[d - 1] = validCount == 0 ? 0 : sortedRarities[validCount * d / DIFFICULTY_LEVELS];
+
+            // a counting sort of the target words by bucket, which keeps the words of a bucket in dictionary order
+            this.bucketStarts = new int[DIFFICULTY_LEVELS * (maxLength + 1) + 1];
+            for (int i = 0; i < size; i++) {
+                if (masks[i] != 0)
+                    bucketStarts[bucket(i) + 1]++;
+            }
+            for (int b = 1; b < bucketStarts.length; b++)
+                bucketStarts[b] += bucketStarts[b - 1];
+            this.valid = new int[validCount];
+            int[] next = Arrays.copyOf(bucketStarts, bucketStarts.length - 1);
+            for (int i = 0; i < size; i++) {
+                if (masks[i] != 0)
+                    valid[next[bucket(i)]++] = i;
+            }
+        }
+
+        private Index(ByteBuffer bytes, int[] offsets, int size, int[] masks, int[] rarities, int[] letterCounts,
+                      int[] rarityCutoffs, int maxLength, int[] valid, int[] bucketStarts) {
+            this.bytes = bytes;
+            this.offsets = offsets;
+            this.size = size;
+            this.masks = masks;
+            this.rarities = rarities;
+            this.letterCounts = letterCounts;
+            this.rarityCutoffs = rarityCutoffs;
+            this.maxLength = maxLength;
+            this.valid = valid;
+            this.bucketStarts = bucketStarts;
+        }
+
+        /**
+         * Scans a text word list once for line breaks. A well-formed source (no carriage returns, no blank lines) is
+         * used as-is; only a source that is not well-formed gets copied and packed.
+         */
+        private static Index of(ByteBuffer source) {
+            int[] offsets = new int[TOTAL_NUMBER_OF_STORED_WORDS + 1];
+            int   size    = 0;
+            int   start   = 0; // where the current line starts
+            int   limit   = source.limit();
+
+            for (int i = 0; i < limit; i++) {
+                byte b = source.get(i);
+                if (b == '\r')
+                    return pack(source);
+                if (b == WORD_SEPARATOR) {
+                    if (i == start)
+                        return pack(source);
+                    if (size + 1 == offsets.length)
+                        offsets = Arrays.copyOf(offsets, offsets.length * 2);
+                    offsets[size++] = start;
+                    start = i + 1;
+                }
+            }
+            if (limit > start) {  // the last word has no line terminator, so pretend it has one just past the end
+                if (size + 1 == offsets.length)
+                    offsets = Arrays.copyOf(offsets, offsets.length + 1);
+                offsets[size++] = start;
+                start = limit + 1;
+            }
+            offsets[size] = start;
+            return new Index(source, Arrays.copyOf(offsets, size + 1), size);
+        }
+
+        /**
+         * Copies a word list into a new byte array, dropping carriage returns and blank lines, so that every word,
+         * including the last one, is followed by exactly one {@link #WORD_SEPARATOR}.
+         */
+        private static Index pack(ByteBuffer source) {
+            byte[] packed  = new byte[source.limit() + 1];
+            int[]  offsets = new int[TOTAL_NUMBER_OF_STORED_WORDS + 1];
+            int    size    = 0;
+            int    length  = 0; // the number of bytes packed so far
+            int    start   = 0; // where the word currently being packed starts
+
+            for (int i = 0; i < source.limit(); i++) {
+                byte b = source.get(i);
+                if (b == '\r')
+                    continue;
+                if (b == WORD_SEPARATOR) {
+                    if (length > start) {
+                        if (size + 1 == offsets.length)
+                            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+                        offsets[size++] = start;
+                        packed[length++] = WORD_SEPARATOR;
+                        start = length;
+                    }
+                    continue;
+                }
+                packed[length++] = b;
+            }
+            if (length > start) { // the last word had no line terminator
+                if (size + 1 == offsets.length)
+                    offsets = Arrays.copyOf(offsets, offsets.length + 1);
+                offsets[size++] = start;
+                packed[length++] = WORD_SEPARATOR;
+            }
+            offsets[size] = length;
+
+            return new Index(ByteBuffer.wrap(packed, 0, length).slice().asReadOnlyBuffer(),
+                             Arrays.copyOf(offsets, size + 1), size);
+        }
+
+        /**
+         * Reads the compiled form written by {@link WordDictionary#compile(Path, Path)}. The integer tables are bulk
+         * copied out of the source; the word bytes are used in place.
+         */
+        private static Index read(ByteBuffer source) {
+            ByteBuffer in = source.duplicate();
+            in.position(COMPILED_HEADER_LENGTH);
+            int   size          = in.getInt();
+            int   validCount    = in.getInt();
+            int   maxLength     = in.getInt();
+            int   byteCount     = in.getInt();
+            int[] letterCounts  = readInts(in, ALPHABET_SIZE);
+            int[] rarityCutoffs = readInts(in, DIFFICULTY_LEVELS - 1);
+            int[] bucketStarts  = readInts(in, DIFFICULTY_LEVELS * (maxLength + 1) + 1);
+            int[] offsets       = readInts(in, size + 1);
+            int[] masks         = readInts(in, size);
+            int[] rarities      = readInts(in, size);
+            int[] valid         = readInts(in, validCount);
+            in.limit(in.position() + byteCount);
+            return new Index(in.slice().asReadOnlyBuffer(), offsets, size, masks, rarities, letterCounts,
+                             rarityCutoffs, maxLength, valid, bucketStarts);
+        }
+
+        private static int[] readInts(ByteBuffer in, int count) {
+            int[] result = new int[count];
+            in.asIntBuffer().get(result);
+            in.position(in.position() + count * Integer.BYTES);
+            return result;
+        }
+
+        /** @return the ordinal of the difficulty of the target word with the given index. */
+        private int level(int index) {
+            int level = 0;
+            while (level < rarityCutoffs.length && rarities[index] >= rarityCutoffs[level])
+                level++;
+            return level;
+        }
+
+        /** @return the bucket of the target word with the given index. */
+        private int bucket(int index) {
+            return level(index) * (maxLength + 1) + offsets[index + 1] - offsets[index] - 1;
+        }
+
+        /** @return where in {@link #valid} the target words of the given difficulty and length (at least) start. */
+        private int bucketStart(Difficulty difficulty, int length) {
+            return bucketStarts[difficulty.ordinal() * (maxLength + 1) + Math.max(0, Math.min(length, maxLength + 1))];
+        }
+
+        /** @return whether the word is letters-only, and short enough to be the target word of a {@link GameData}. */
+        private boolean isTargetWord(int index) {
+            return offsets[index + 1] - offsets[index] - 1 <= GameData.MAX_WORD_LENGTH && isLettersOnly(index);
+        }
+
+        private boolean isLettersOnly(int index) {
+            int end = offsets[index + 1] - 1;
+            for (int i = offsets[index]; i < end; i++) {
+                byte b = bytes.get(i);
+                if (!((b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z')))
+                    return false;
+            }
+            return true;
+        }
+    }
+
+    public int size() {
+        return index().size;
+    }
+
+    /** @return the number of characters in the word with the given index. */
+    public int length(int index) {
+        int[] offsets = index().offsets;
+        return offsets[index + 1] - offsets[index] - 1;
+    }
+
+    /** @return the character at the given position of the word with the given index. */
+    public char charAt(int index, int position) {
+        Index words = index();
+        return (char) (words.bytes.get(words.offsets[index] + position) & 0xFF);
+    }
+
+    /** @return <code>true</code> if, and only if, the word with the given index consists of ASCII letters only. */
+    public boolean isLettersOnly(int index) {
+        return index().isLettersOnly(index);
+    }
+
+    /**
+     * @return the set of distinct letters (case-insensitive) in the word with the given index, as a 26-bit mask; the
+     * mask of a word that cannot be used as a target word is 0.
+     */
+    public int uniqueLetters(int index) {
+        return index().masks[index];
+    }
+
+    /**
+     * @return the rarity of the word with the given index, in millibits; the higher it is, the rarer the letters of
+     * the word are. The rarity of a word that cannot be used as a target word is 0.
+     */
+    public int rarity(int index) {
+        return index().rarities[index];
+    }
+
+    /** @return the difficulty of the target word with the given index. */
+    public Difficulty difficulty(int index) {
+        return DIFFICULTIES[index().level(index)];
+    }
+
+    /** @return the number of words that can be used as target words and that contain the given letter. */
+    public int letterFrequency(char letter) {
+        return index().letterCounts[(letter | 0x20) - 'a'];
+    }
+
+    /** @return the length of the longest word that can be used as a target word. */
+    public int maxLength() {
+        return index().maxLength;
+    }
+
+    /** @return the number of words that can be used as target words. */
+    public int validSize() {
+        return index().valid.length;
+    }
+
+    /**
+     * @return the index of the <code>i</code>-th word that can be used as a target word. These words are ordered by
+     * difficulty, then by length, and words in the same bucket are in dictionary order.
+     */
+    public int validIndex(int i) {
+        return index().valid[i];
+    }
+
+    /**
+     * @return where the target words of the given difficulty and length start in the order of
+     * {@link #validIndex(int)}; those of the next length start right after them.
+     */
+    public int validStart(Difficulty difficulty, int length) {
+        return index().bucketStart(difficulty, length);
+    }
+
+    /**
+     * @return the number of words that can be used as target words, have the given difficulty, and whose length is
+     * within the given (inclusive) bounds.
+     */
+    public int validSize(Difficulty difficulty, int minLength, int maxLength) {
+        Index words = index();
+        return Math.max(0, words.bucketStart(difficulty, maxLength + 1) - words.bucketStart(difficulty, minLength));
+    }
+
+    /**
+     * Picks one of the words that can be used as a target word, uniformly at random. The set of such words is
+     * filtered once, when the dictionary is indexed, so this is a single pick with no retries.
+     *
+     * @param random the source of randomness; pass a reused one (e.g., {@link ThreadLocalRandom#current()}).
+     * @return the index of the chosen word.
+     */
+    public int randomValidIndex(Random random) {
+        int[] valid = index().valid;
+        if (valid.length == 0)
+            throw new GameError("The word list contains no valid target words.");
+        return valid[random.nextInt(valid.length)];
+    }
+
+    /**
+     * Picks one of the words that can be used as a target word and whose length is within the given (inclusive)
+     * bounds, uniformly at random. The words are grouped by length, so this is also a single pick.
+     *
+     * @return the index of the chosen word.
+     */
+    public int randomValidIndex(Random random, int minLength, int maxLength) {
+        int total = 0;
+        for (Difficulty difficulty : DIFFICULTIES)
+            total += validSize(difficulty, minLength, maxLength);
+        if (total == 0)
+            throw new GameError(String.format("The word list contains no valid target words of length %d to %d.",
+                                              minLength, maxLength));
+
+        int pick = random.nextInt(total);
+        for (Difficulty difficulty : DIFFICULTIES) {
+            int count = validSize(difficulty, minLength, maxLength);
+            if (pick < count)
+                return index().valid[index().bucketStart(difficulty, minLength) + pick];
+            pick -= count;
+        }
+        throw new AssertionError();
+    }
+
+    /**
+     * Picks one of the words that can be used as a target word, have the given difficulty, and whose length is within
+     * the given (inclusive) bounds, uniformly at random. The words are grouped by difficulty and length, so this is
+     * also a single pick.
+     *
+     * @return the index of the chosen word.
+     */
+    public int randomValidIndex(Random random, Difficulty difficulty, int minLength, int maxLength) {
+        int count = validSize(difficulty, minLength, maxLength);
+        if (count == 0)
+            throw new GameError(String.format("The word list contains no %s target words of length %d to %d.",
+                                              difficulty.name().toLowerCase(), minLength, maxLength));
+        return index().valid[index().bucketStart(difficulty, minLength) + random.nextInt(count)];
+    }
+
+    /** @return the word with the given index, as a new string. */
+    public String getWord(int index) {
+        Index  words = index();
+        byte[] word  = new byte[length(index)];
+        for (int i = 0; i < word.length; i++)
+            word[i] = words.bytes.get(words.offsets[index] + i);
+        return new String(word, StandardCharsets.ISO_8859_1);
+    }
+}
@@ -0,0 +1,192 @@
+package gui;
+
+import data.GameData;
+import data.SavedGame;
+import javafx.animation.AnimationTimer;
+import javafx.geometry.VPos;
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.TextAlignment;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * A grid of mini boards, each showing one live game, all drawn onto a single {@link Canvas}. Games may be updated from
+ * any thread, as often as they change: {@link #update(int, SavedGame)} only keeps the latest state of the board and
+ * marks it as changed. Once per frame, an {@link AnimationTimer} redraws the boards that changed since the last frame,
+ * each once however many times it changed, so the cost of a frame depends on the boards that changed rather than on
+ * the number of boards or of updates.
+ * <p>
+ * A mini board shows the word pattern, a bar with a segment for each bad guess, and the letters guessed; its background
+ * turns green when the game is won, and red when it is lost.
+ *
+ * @author Andy Lau
+ */
+public class BoardGrid {
+
+    public static final double BOARD_WIDTH  = 120;
+    public static final double BOARD_HEIGHT = 52;
+
+    private static final double GAP            = 4;
+    private static final double PADDING        = 4;
+    private static final int    PATTERN_LENGTH = 13; // longer words are cut short, with an ellipsis
+    private static final Color  PLAYING        = Color.WHITE;
+    private static final Color  WON            = Color.rgb(200, 240, 200);
+    private static final Color  LOST           = Color.rgb(250, 205, 205);
+
+    private final int                             columns;
+    private final Canvas                          canvas;
+    private final GraphicsContext                 graphics;
+    private final Font                            patternFont = Font.font("Monospaced", FontWeight.BOLD, 13);
+    private final Font                            lettersFont = Font.font("Monospaced", 9);
+    private final AtomicReferenceArray<SavedGame> latest;           // the latest state of each board
+    private final AtomicIntegerArray              changed;          // 1 for each board changed since it was drawn
+    private final AtomicBoolean                   anyChanged = new AtomicBoolean();
+    private final AnimationTimer                  pulse;
+    private Consumer<String>                      statusListener;   // told about the frame and update rates
+    private long                                  updates;          // updates drawn since the status was last told
+    private long                                  frames;
+    private long                                  statusTime;       // when the status was last told, in nanoseconds
+
+    /**
+     * @param boards  the number of boards.
+     * @param columns the number of boards in a row.
+     */
+    public BoardGrid(int boards, int columns) {
+        this.columns = columns;
+        int rows = (boards + columns - 1) / columns;
+        this.canvas = new Canvas(columns * (BOARD_WIDTH + GAP) + GAP, rows * (BOARD_HEIGHT + GAP) + GAP);
+        this.graphics = canvas.getGraphicsContext2D();
+        this.latest = new AtomicReferenceArray<>(boards);
+        this.changed = new AtomicIntegerArray(boards);
+        graphics.setTextBaseline(VPos.TOP);
+        graphics.setTextAlign(TextAlignment.LEFT);
+        for (int board = 0; board < boards; board++)
+            draw(board, null);
+        this.pulse = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                render(now);
+            }
+        };
+    }
+
+    public Node getNode() {
+        return canvas;
+    }
+
+    public int size() {
+        return latest.length();
+    }
+
+    /** Sets the listener told, about once a second, how many frames and board updates were drawn per second. */
+    public void setStatusListener(Consumer<String> statusListener) {
+        this.statusListener = statusListener;
+    }
+
+    /** Starts drawing the changed boards on every frame; must be called on the JavaFX thread. */
+    public void start() {
+        statusTime = System.nanoTime();
+        pulse.start();
+    }
+
+    public void stop() {
+        pulse.stop();
+    }
+
+    /**
+     * Sets the game shown on a board; it is drawn on the next frame. This may be called on any thread.
+     *
+     * @param board the board, from 0 to {@link #size()} - 1.
+     * @param game  the game, or <code>null</code> to show an empty board.
+     */
+    public void update(int board, SavedGame game) {
+        latest.set(board, game);
+        if (changed.getAndSet(board, 1) == 0)
+            anyChanged.set(true);
+    }
+
+    /** Draws every board that changed since the last frame. */
+    private void render(long now) {
+        frames++;
+        if (anyChanged.getAndSet(false))
+            for (int board = 0; board < latest.length(); board++)
+                if (changed.get(board) != 0 && changed.getAndSet(board, 0) != 0) {
+                    draw(board, latest.get(board));
+                    updates++;
+                }
+        if (statusListener != null && now - statusTime >= 1_000_000_000L) {
+            double seconds = (now - statusTime) / 1e9;
+            statusListener.accept(String.format("%d boards, %.0f fps, %.0f board updates/s",
+                                                latest.length(), frames / seconds, updates / seconds));
+            frames = 0;
+            updates = 0;
+            statusTime = now;
+        }
+    }
+
+    private void draw(int board, SavedGame game) {
+        double x = GAP + (board % columns) * (BOARD_WIDTH + GAP);
+        double y = GAP + (board / columns) * (BOARD_HEIGHT + GAP);
+        String word = game == null ? null : game.getTargetWord();
+        int    bad  = word == null ? 0 : Integer.bitCount(game.getBadGuessMask()); // the hint costs a guess too
+
+        graphics.setFill(word == null ? Color.LIGHTGRAY
+                                      : isWon(game) ? WON : bad >= GameData.TOTAL_NUMBER_OF_GUESSES_ALLOWED ? LOST : PLAYING);
+        graphics.fillRect(x, y, BOARD_WIDTH, BOARD_HEIGHT);
+        graphics.setStroke(Color.GRAY);
+        graphics.setLineWidth(1);
+        graphics.strokeRect(x + 0.5, y + 0.5, BOARD_WIDTH - 1, BOARD_HEIGHT - 1);
+        if (word == null)
+            return;
+
+        graphics.setFill(Color.BLACK);
+        graphics.setFont(patternFont);
+        graphics.fillText(pattern(word, game.getGoodGuessMask()), x + PADDING, y + PADDING);
+
+        double segment = (BOARD_WIDTH - 2 * PADDING) / GameData.TOTAL_NUMBER_OF_GUESSES_ALLOWED;
+        for (int i = 0; i < GameData.TOTAL_NUMBER_OF_GUESSES_ALLOWED; i++) {
+            graphics.setFill(i < bad ? Color.FIREBRICK : Color.GAINSBORO);
+            graphics.fillRect(x + PADDING + i * segment, y + 22, segment - 1, 8);
+        }
+
+        graphics.setFill(Color.DIMGRAY);
+        graphics.setFont(lettersFont);
+        graphics.fillText(letters(game.getAllGuessMask()), x + PADDING, y + 36);
+    }
+
+    private static boolean isWon(SavedGame game) {
+        String word = game.getTargetWord();
+        for (int i = 0; i < word.length(); i++)
+            if (GameData.isGuessable(word.charAt(i)) && (game.getGoodGuessMask() & GameData.letterBit(word.charAt(i))) == 0)
+                return false;
+        return true;
+    }
+
+    /** @return the word with its hidden letters shown as <code>_</code>, cut short if it is too long to fit. */
+    private static String pattern(String word, int good) {
+        int           length  = Math.min(word.length(), PATTERN_LENGTH);
+        StringBuilder pattern = new StringBuilder(length + 1);
+        for (int i = 0; i < length; i++) {
+            char c = word.charAt(i);
+            pattern.append(!GameData.isGuessable(c) || (good & GameData.letterBit(c)) != 0 ? c : '_');
+        }
+        if (word.length() > length)
+            pattern.setCharAt(length - 1, '\u2026');
+        return pattern.toString();
+    }
+
+    private static String letters(int mask) {
+        StringBuilder letters = new StringBuilder(26);
+        for (int remaining = mask; remaining != 0; remaining &= remaining - 1)
+            letters.append((char) ('a' + Integer.numberOfTrailingZeros(remaining)));
+        return letters.toString();
+    }
+}
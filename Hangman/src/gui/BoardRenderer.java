@@ -0,0 +1,42 @@
+package gui;
+
+import javafx.scene.Node;
+
+/**
+ * Draws the board of a game in the {@link Workspace}: the hanging figure, a tile for each letter of the target word,
+ * and the alphabet with the guessed letters marked. The workspace keeps the controls, and tells its renderer what
+ * changed; which renderer it uses is set by the <code>BOARD_RENDERER</code> workspace property (see {@link #create}).
+ *
+ * @author Andy Lau
+ */
+public interface BoardRenderer {
+
+    String NODES  = "nodes";
+    String CANVAS = "canvas";
+
+    /** @return a renderer of the given kind, {@link #NODES} if it is <code>null</code> or unknown. */
+    static BoardRenderer create(String kind) {
+        return CANVAS.equalsIgnoreCase(kind) ? new CanvasBoardRenderer() : new NodeBoardRenderer();
+    }
+
+    /** @return the node the board is drawn in, which the workspace places once. */
+    Node getNode();
+
+    /** Shows a new (or restored) game: a hidden tile for every letter, no letter guessed, and no part of the figure. */
+    void showGame(String targetWord);
+
+    /** Shows the letters of the target word at the given positions (a bitmap, as kept by the game data). */
+    void revealPositions(long positions);
+
+    /** Marks the given letters (a 26-bit mask, as kept by the game data) as guessed in the alphabet. */
+    void markGuessed(int letters);
+
+    /** Shows as many parts of the figure, counting the hanger, as there have been bad guesses. */
+    void showBadGuesses(int count);
+
+    /** At the end of a game, shows the letters that were never discovered, highlighted. */
+    void revealMissedLetters();
+
+    /** Clears the game from the board. */
+    void clear();
+}
@@ -0,0 +1,226 @@
+package gui;
+
+import javafx.geometry.VPos;
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+import javafx.scene.text.TextAlignment;
+
+/**
+ * Draws the whole board onto a single {@link Canvas}, however long the word: the scene graph holds one node instead of
+ * three for every letter, a shape for every part of the figure and a glyph for every letter of the alphabet. Tiles
+ * wrap onto as many rows as the word needs. Each change only clears and redraws the region it affects, e.g., the tiles
+ * of the revealed positions, or the cells of the newly guessed letters; the whole canvas is only drawn for a new game.
+ * The figure is drawn with the same coordinates and colours as by the {@link NodeBoardRenderer}.
+ *
+ * @author Andy Lau
+ */
+public class CanvasBoardRenderer implements BoardRenderer {
+
+    private static final double WIDTH           = 640;
+    private static final double MARGIN          = 10;
+    private static final double TILE_SIZE       = 30;
+    private static final double TILE_GAP        = 10;
+    private static final double GLYPH_WIDTH     = 14;
+    private static final double ROW_HEIGHT      = 20;  // the height of the alphabet row
+    private static final double FIGURE_HEIGHT   = 335;
+    private static final int    FIGURE_PARTS    = 10;  // the hanger, in four parts, then the figure in six
+    private static final int    TILES_PER_ROW   = (int) ((WIDTH - 2 * MARGIN + TILE_GAP) / (TILE_SIZE + TILE_GAP));
+    private static final char[] ALPHABET        = "abcdefghijklmnopqrstuvwxyz".toCharArray();
+    private static final String GUESSED_HEADING = "Letters Guessed (Appear in Red): ";
+
+    private final Canvas          canvas = new Canvas(WIDTH, 0);
+    private final GraphicsContext graphics = canvas.getGraphicsContext2D();
+    private final Font            font = Font.getDefault();
+    private final double          headingWidth;        // the width of the heading of the alphabet row
+    private String                word;                // null if no game is shown
+    private long                  revealed;            // the positions whose letters are shown
+    private boolean               missedRevealed;      // whether the letters never discovered are shown, highlighted
+    private int                   guessed;             // the letters marked as guessed
+    private int                   parts;               // the parts of the figure drawn
+    private double                alphabetTop;         // where the alphabet row starts, below the tiles
+    private double                figureTop;           // where the figure starts, below the alphabet
+
+    public CanvasBoardRenderer() {
+        Text heading = new Text(GUESSED_HEADING);
+        heading.setFont(font);
+        headingWidth = heading.getLayoutBounds().getWidth();
+        graphics.setFont(font);
+        graphics.setTextAlign(TextAlignment.CENTER);
+        graphics.setTextBaseline(VPos.CENTER);
+    }
+
+    @Override
+    public Node getNode() {
+        return canvas;
+    }
+
+    @Override
+    public void showGame(String targetWord) {
+        word = targetWord;
+        revealed = 0;
+        missedRevealed = false;
+        guessed = 0;
+        parts = 0;
+        int rows = Math.max((word.length() + TILES_PER_ROW - 1) / TILES_PER_ROW, 1);
+        alphabetTop = MARGIN + rows * (TILE_SIZE + TILE_GAP);
+        figureTop = alphabetTop + ROW_HEIGHT + TILE_GAP;
+        canvas.setHeight(figureTop + FIGURE_HEIGHT);
+
+        graphics.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        for (int i = 0; i < word.length(); i++)
+            drawTile(i);
+        graphics.setFill(Color.BLACK);
+        graphics.setTextAlign(TextAlignment.LEFT);
+        graphics.fillText(GUESSED_HEADING, MARGIN, alphabetTop + ROW_HEIGHT / 2);
+        graphics.setTextAlign(TextAlignment.CENTER);
+        for (int l = 0; l < ALPHABET.length; l++)
+            drawGlyph(l);
+    }
+
+    @Override
+    public void revealPositions(long positions) {
+        if (word == null)
+            return;
+        long changed = positions & ~revealed;
+        revealed |= positions;
+        for (; changed != 0; changed &= changed - 1)
+            drawTile(Long.numberOfTrailingZeros(changed));
+    }
+
+    @Override
+    public void markGuessed(int letters) {
+        if (word == null)
+            return;
+        int changed = letters & ~guessed;
+        guessed |= letters;
+        for (; changed != 0; changed &= changed - 1)
+            drawGlyph(Integer.numberOfTrailingZeros(changed));
+    }
+
+    @Override
+    public void showBadGuesses(int count) {
+        if (word == null)
+            return;
+        count = Math.min(Math.max(count, 0), FIGURE_PARTS);
+        if (count < parts) {
+            graphics.clearRect(0, figureTop, canvas.getWidth(), FIGURE_HEIGHT);
+            parts = 0;
+        }
+        for (; parts < count; parts++)
+            drawPart(parts);
+    }
+
+    @Override
+    public void revealMissedLetters() {
+        if (word == null)
+            return;
+        missedRevealed = true;
+        for (int i = 0; i < word.length(); i++)
+            if ((revealed & (1L << i)) == 0)
+                drawTile(i);
+    }
+
+    @Override
+    public void clear() {
+        word = null;
+        graphics.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        canvas.setHeight(0);
+    }
+
+    private void drawTile(int i) {
+        double  x      = MARGIN + (i % TILES_PER_ROW) * (TILE_SIZE + TILE_GAP);
+        double  y      = MARGIN + (i / TILES_PER_ROW) * (TILE_SIZE + TILE_GAP);
+        boolean shown  = (revealed & (1L << i)) != 0;
+        boolean missed = !shown && missedRevealed;
+        graphics.clearRect(x - 1, y - 1, TILE_SIZE + 2, TILE_SIZE + 2);
+        graphics.setFill(missed ? Color.ORANGE : Color.BEIGE);
+        graphics.fillRect(x, y, TILE_SIZE, TILE_SIZE);
+        graphics.setStroke(Color.BLACK);
+        graphics.setLineWidth(1);
+        graphics.strokeRect(x, y, TILE_SIZE, TILE_SIZE);
+        if (shown || missed) {
+            String letter = String.valueOf(word.charAt(i));
+            graphics.setFill(Color.BLACK);
+            graphics.fillText(letter, x + TILE_SIZE / 2, y + TILE_SIZE / 2);
+            if (missed) {
+                graphics.setStroke(Color.BLUE);
+                graphics.strokeText(letter, x + TILE_SIZE / 2, y + TILE_SIZE / 2);
+            }
+        }
+    }
+
+    private void drawGlyph(int l) {
+        double x = MARGIN + headingWidth + l * GLYPH_WIDTH;
+        graphics.clearRect(x, alphabetTop, GLYPH_WIDTH, ROW_HEIGHT);
+        String  glyph   = String.valueOf(ALPHABET[l]);
+        boolean marked  = (guessed & (1 << l)) != 0;
+        graphics.setGlobalAlpha(marked ? 1 : 0.2);
+        graphics.setFill(Color.BLACK);
+        graphics.fillText(glyph, x + GLYPH_WIDTH / 2, alphabetTop + ROW_HEIGHT / 2);
+        if (marked) {
+            graphics.setStroke(Color.RED);
+            graphics.setLineWidth(1);
+            graphics.strokeText(glyph, x + GLYPH_WIDTH / 2, alphabetTop + ROW_HEIGHT / 2);
+        }
+        graphics.setGlobalAlpha(1);
+    }
+
+    /** Draws a part of the figure, in the order in which bad guesses reveal them. */
+    private void drawPart(int part) {
+        double y = figureTop;
+        switch (part) {
+            case 0: // the bottom of the hanger
+                drawBar(25, y + 300, 200, 25, Color.DARKGREEN);
+                break;
+            case 1: // the stand
+                drawBar(25, y + 25, 25, 300, Color.BROWN);
+                break;
+            case 2: // the top
+                drawBar(25, y + 25, 200, 25, Color.PLUM);
+                break;
+            case 3: // the hook
+                drawLine(200, y + 25, 200, y + 75, Color.BROWN, 3);
+                break;
+            case 4: // the head
+                graphics.setFill(Color.WHITE);
+                graphics.fillOval(200 - 35, y + 112 - 35, 70, 70);
+                graphics.setStroke(Color.BLACK);
+                graphics.setLineWidth(5);
+                graphics.strokeOval(200 - 35, y + 112 - 35, 70, 70);
+                break;
+            case 5: // the body
+                drawLine(200, y + 200, 200, y + 150, Color.BLACK, 5);
+                break;
+            case 6: // the arms
+                drawLine(150, y + 225, 200, y + 175, Color.BLACK, 5);
+                break;
+            case 7:
+                drawLine(250, y + 225, 200, y + 175, Color.BLACK, 5);
+                break;
+            case 8: // the legs
+                drawLine(200, y + 200, 175, y + 275, Color.BLACK, 5);
+                break;
+            default:
+                drawLine(200, y + 200, 225, y + 275, Color.BLACK, 5);
+                break;
+        }
+    }
+
+    private void drawBar(double x, double y, double width, double height, Color fill) {
+        graphics.setFill(fill);
+        graphics.fillRect(x, y, width, height);
+        graphics.setStroke(Color.BLACK);
+        graphics.setLineWidth(3);
+        graphics.strokeRect(x, y, width, height);
+    }
+
+    private void drawLine(double x1, double y1, double x2, double y2, Color stroke, double width) {
+        graphics.setStroke(stroke);
+        graphics.setLineWidth(width);
+        graphics.strokeLine(x1, y1, x2, y2);
+    }
+}
@@ -0,0 +1,158 @@
+package gui;
+
+import javafx.collections.ObservableList;
+import javafx.scene.Node;
+import javafx.scene.control.Label;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Circle;
+import javafx.scene.shape.Line;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.text.Text;
+
+/**
+ * Draws the board with a scene-graph node for every part: a shape for each part of the figure, and the letter tiles
+ * and alphabet glyphs of a {@link TilePool}, which are reused from game to game.
+ *
+ * @author Andy Lau, Ritwik Banerjee
+ */
+public class NodeBoardRenderer implements BoardRenderer {
+
+    private final VBox                 board          = new VBox();
+    private final HBox                 guessedLetters = new HBox(10); // the tiles of the target word
+    private final HBox                 allGuesses     = new HBox(5);  // the alphabet, guessed letters in red
+    private final Label                guessedHeading = new Label("Letters Guessed (Appear in Red): ");
+    private final ObservableList<Node> hangmanImage;                  // the hanger, then the figure, part by part
+    private final TilePool             tilePool       = new TilePool();
+
+    public NodeBoardRenderer() {
+        guessedLetters.setStyle("-fx-background-color: transparent;");
+        Pane pane = new Pane();
+        hangmanImage = pane.getChildren();
+        initHanger();
+        initHangman();
+        board.getChildren().setAll(guessedLetters, allGuesses, pane);
+    }
+
+    private void initHangman() {
+        Circle head = new Circle(200,112,35);
+        head.setStroke(Color.BLACK);
+        head.setFill(Color.WHITE);
+        head.setStrokeWidth(5);
+        head.setVisible(false);
+        hangmanImage.add(head);
+
+        Line body = new Line(200,200,200,150);
+        body.setStroke(Color.BLACK);
+        body.setStrokeWidth(5);
+        body.setVisible(false);
+        hangmanImage.add(body);
+
+        Line leftArm = new Line(150,225,200,175);
+        leftArm.setStroke(Color.BLACK);
+        leftArm.setStrokeWidth(5);
+        leftArm.setVisible(false);
+        hangmanImage.add(leftArm);
+
+        Line rightArm = new Line(250,225,200,175);
+        rightArm.setStroke(Color.BLACK);
+        rightArm.setStrokeWidth(5);
+        rightArm.setVisible(false);
+        hangmanImage.add(rightArm);
+
+        Line leftLeg = new Line(200,200,175,275);
+        leftLeg.setStroke(Color.BLACK);
+        leftLeg.setStrokeWidth(5);
+        leftLeg.setVisible(false);
+        hangmanImage.add(leftLeg);
+
+        Line rightLeg = new Line(200,200,225,275);
+        rightLeg.setStroke(Color.BLACK);
+        rightLeg.setStrokeWidth(5);
+        rightLeg.setVisible(false);
+        hangmanImage.add(rightLeg);
+    }
+
+    private void initHanger() {
+        Rectangle hangerBottom = new Rectangle(25, 300, 200, 25);
+        hangerBottom.setStroke(Color.BLACK);
+        hangerBottom.setStrokeWidth(3);
+        hangerBottom.setFill(Color.DARKGREEN);
+        hangerBottom.setVisible(false);
+        hangmanImage.add(hangerBottom);
+
+        Rectangle hangerStand = new Rectangle(25, 25, 25, 300);
+        hangerStand.setStroke(Color.BLACK);
+        hangerStand.setStrokeWidth(3);
+        hangerStand.setVisible(false);
+        hangerStand.setFill(Color.BROWN);
+        hangmanImage.add(hangerStand);
+
+        Rectangle hangerTop = new Rectangle(25, 25, 200, 25);
+        hangerTop.setStroke(Color.BLACK);
+        hangerTop.setStrokeWidth(3);
+        hangerTop.setVisible(false);
+        hangerTop.setFill(Color.PLUM);
+        hangmanImage.add(hangerTop);
+
+        Line hangerHook = new Line(200, 25, 200, 75);
+        hangerHook.setStroke(Color.BROWN);
+        hangerHook.setStrokeWidth(3);
+        hangerHook.setVisible(false);
+        hangmanImage.add(hangerHook);
+    }
+
+    @Override
+    public Node getNode() {
+        return board;
+    }
+
+    @Override
+    public void showGame(String targetWord) {
+        guessedLetters.getChildren().setAll(tilePool.showWord(targetWord));
+        allGuesses.getChildren().setAll(guessedHeading);
+        allGuesses.getChildren().addAll(tilePool.showAlphabet());
+    }
+
+    @Override
+    public void revealPositions(long positions) {
+        for (long remaining = positions; remaining != 0; remaining &= remaining - 1)
+            tilePool.letter(Long.numberOfTrailingZeros(remaining)).setVisible(true);
+    }
+
+    @Override
+    public void markGuessed(int letters) {
+        for (int remaining = letters; remaining != 0; remaining &= remaining - 1) {
+            Text glyph = tilePool.glyph(Integer.numberOfTrailingZeros(remaining));
+            glyph.setStroke(Color.RED);
+            glyph.setOpacity(5);
+        }
+    }
+
+    @Override
+    public void showBadGuesses(int count) {
+        for (int i = 0; i < hangmanImage.size(); i++)
+            hangmanImage.get(i).setVisible(i < count);
+    }
+
+    @Override
+    public void revealMissedLetters() {
+        for (int i = 0; i < tilePool.size(); i++) {
+            Text letter = tilePool.letter(i);
+            if (!letter.isVisible()) {
+                letter.setStroke(Color.BLUE);
+                letter.setVisible(true);
+                tilePool.tile(i).setFill(Color.ORANGE);
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        guessedLetters.getChildren().clear();
+        allGuesses.getChildren().clear();
+        showBadGuesses(0);
+    }
+}
@@ -0,0 +1,219 @@
+package gui;
+
+import controller.HangmanEngine;
+import data.GameData;
+import data.GameEventLog;
+import data.SavedGame;
+import data.WordDictionary;
+import javafx.application.Application;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.control.ScrollPane;
+import javafx.scene.layout.BorderPane;
+import javafx.stage.Stage;
+import server.HangmanServer;
+import server.SessionRegistry;
+import simulation.FrequencyStrategy;
+import simulation.GuessingStrategy;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A window that shows many games at once, as a {@link BoardGrid} of mini boards, for spectators and operators. Run it
+ * from the <code>Hangman</code> directory:
+ * <pre>
+ *     java gui.SpectatorDashboard [--boards n] [--play | --server [port] | --logs directory]
+ * </pre>
+ * The games come from one of three sources:
+ * <ul>
+ *     <li><code>--play</code> (the default): games played live by simulated players, a move every few hundred
+ *     milliseconds on each board;</li>
+ *     <li><code>--server</code>: the games of a {@link HangmanServer} run in the same process, on the given port;</li>
+ *     <li><code>--logs</code>: the {@link GameEventLog game logs} of a directory, which are replayed whenever they
+ *     change, e.g., while they are being played.</li>
+ * </ul>
+ * Every source updates the boards from its own threads, and the grid draws the boards that changed once per frame.
+ *
+ * @author Andy Lau
+ */
+public class SpectatorDashboard extends Application {
+
+    private static final int  DEFAULT_BOARDS = 300;
+    private static final int  COLUMNS        = 10;
+    private static final long MOVE_INTERVAL  = 250; // milliseconds between the moves of a simulated player
+    private static final int  PAUSE_MOVES    = 8;   // moves a simulated player sits out after each game
+    private static final long POLL_INTERVAL  = 500; // milliseconds between scans of a log directory
+
+    private final ScheduledExecutorService sources = Executors.newScheduledThreadPool(
+            Runtime.getRuntime().availableProcessors(), runnable -> {
+                Thread thread = new Thread(runnable, "hangman-spectator-source");
+                thread.setDaemon(true);
+                return thread;
+            });
+    private BoardGrid     grid;
+    private HangmanServer server; // null unless spectating a server
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+
+    @Override
+    public void start(Stage stage) throws Exception {
+        List<String> args   = getParameters().getRaw();
+        int          boards = DEFAULT_BOARDS;
+        String       source = "--play";
+        String       target = null;
+        for (int i = 0; i < args.size(); i++) {
+            switch (args.get(i)) {
+                case "--boards":
+                    boards = Integer.parseInt(args.get(++i));
+                    break;
+                case "--play":
+                case "--server":
+                case "--logs":
+                    source = args.get(i);
+                    if (i + 1 < args.size() && !args.get(i + 1).startsWith("--"))
+                        target = args.get(++i);
+                    break;
+                default:
+                    System.err.println("usage: java gui.SpectatorDashboard [--boards n] "
+                                       + "[--play | --server [port] | --logs directory]");
+                    System.exit(1);
+            }
+        }
+
+        grid = new BoardGrid(boards, Math.min(COLUMNS, boards));
+        Label      status = new Label();
+        BorderPane root   = new BorderPane(new ScrollPane(grid.getNode()));
+        root.setBottom(status);
+        grid.setStatusListener(status::setText);
+
+        WordDictionary.getInstance().size(); // load the dictionary before the games start
+        switch (source) {
+            case "--server":
+                spectateServer(target == null ? HangmanServer.DEFAULT_PORT : Integer.parseInt(target));
+                break;
+            case "--logs":
+                spectateLogs(Paths.get(target == null ? "." : target));
+                break;
+            default:
+                play();
+        }
+
+        stage.setTitle("Hangman Spectator");
+        stage.setScene(new Scene(root, COLUMNS * (BoardGrid.BOARD_WIDTH + 4) + 24, 720));
+        stage.show();
+        grid.start();
+    }
+
+    @Override
+    public void stop() throws Exception {
+        grid.stop();
+        sources.shutdownNow();
+        if (server != null)
+            server.close();
+    }
+
+    /** Plays a game on every board, each with its own simulated player, whose moves are spread over the threads. */
+    private void play() {
+        for (int board = 0; board < grid.size(); board++) {
+            Player player = new Player(board);
+            sources.scheduleWithFixedDelay(player, ThreadLocalRandom.current().nextLong(MOVE_INTERVAL), MOVE_INTERVAL,
+                                           TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /** A simulated player, whose moves are made one at a time; the executor never runs two of them at once. */
+    private class Player implements Runnable {
+
+        private final int              board;
+        private final GameData         gamedata = new GameData(null);
+        private final HangmanEngine    engine   = new HangmanEngine(gamedata);
+        private final GuessingStrategy strategy = new FrequencyStrategy();
+        private int                    pause;   // moves left to sit out before the next game
+
+        Player(int board) {
+            this.board = board;
+        }
+
+        @Override
+        public void run() {
+            if (gamedata.getTargetWord() == null || engine.isOver() && pause-- <= 0) {
+                engine.newGame();
+                pause = PAUSE_MOVES;
+            } else if (!engine.isOver()) {
+                if (engine.isHintAvailable() && gamedata.getRemainingGuesses() == 2)
+                    engine.hint();
+                else
+                    engine.guess(strategy.nextGuess(gamedata));
+            } else {
+                return; // sitting out; the board shows the finished game
+            }
+            grid.update(board, SavedGame.of(gamedata));
+        }
+    }
+
+    /** Serves Hangman, and shows each session that plays a game on a board; sessions take the boards in turn. */
+    private void spectateServer(int port) throws IOException {
+        Map<Long, Integer> boards = new ConcurrentHashMap<>();
+        AtomicInteger      next   = new AtomicInteger();
+        SessionRegistry sessions = new SessionRegistry(HangmanServer.SESSION_TIME_TO_LIVE, TimeUnit.MINUTES,
+                                                       HangmanServer.SESSION_CAPACITY, null);
+        server = new HangmanServer(port, Runtime.getRuntime().availableProcessors(), sessions);
+        server.setListener((id, game) -> grid.update(
+                boards.computeIfAbsent(id, session -> Math.floorMod(next.getAndIncrement(), grid.size())), game));
+        server.start();
+        Thread acceptor = new Thread(() -> {
+            try {
+                server.accept();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }, "hangman-spectator-server");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        System.out.printf("Serving Hangman on %s.%n", server.getAddress());
+    }
+
+    /** Shows each game log of a directory on a board, replaying it whenever it has changed since the last scan. */
+    private void spectateLogs(Path directory) {
+        Map<Path, Integer>  boards   = new HashMap<>(); // only used by the one scanning task
+        Map<Path, FileTime> modified = new HashMap<>();
+        sources.scheduleWithFixedDelay(() -> {
+            try (DirectoryStream<Path> logs = Files.newDirectoryStream(directory, "*." + GameEventLog.EXTENSION)) {
+                for (Path log : logs) {
+                    FileTime time = Files.getLastModifiedTime(log);
+                    if (time.equals(modified.put(log, time)))
+                        continue;
+                    Integer board = boards.get(log);
+                    if (board == null) {
+                        if (boards.size() == grid.size())
+                            continue; // more logs than boards
+                        boards.put(log, board = boards.size());
+                    }
+                    try {
+                        grid.update(board, GameEventLog.replay(log));
+                    } catch (IOException e) {
+                        modified.remove(log); // e.g., no game yet; try again on the next scan
+                    }
+                }
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }, 0, POLL_INTERVAL, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,90 @@
+package gui;
+
+import javafx.scene.layout.StackPane;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.text.Text;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The nodes that show a game: a tile (a rectangle with a letter on it) for each letter of the target word, and a glyph
+ * for each letter of the alphabet. They are kept by the {@link Workspace} from one game to the next and reset instead
+ * of being created again, so starting a game allocates no nodes once the pool has seen a word as long. There are never
+ * more tiles than letters in the longest word shown, which is at most {@link data.GameData#MAX_WORD_LENGTH}.
+ *
+ * @author Andy Lau
+ */
+public class TilePool {
+
+    private static final char[] ALPHABET  = "abcdefghijklmnopqrstuvwxyz".toCharArray();
+    private static final double TILE_SIZE = 30;
+
+    private final List<StackPane> panes   = new ArrayList<>(); // one per tile: a rectangle, with a letter on top
+    private final List<Rectangle> tiles   = new ArrayList<>();
+    private final List<Text>      letters = new ArrayList<>();
+    private final Text[]          glyphs  = new Text[ALPHABET.length];
+    private int                   inUse;                       // the number of tiles showing the current word
+
+    public TilePool() {
+        for (int i = 0; i < ALPHABET.length; i++)
+            glyphs[i] = new Text(Character.toString(ALPHABET[i]));
+    }
+
+    /**
+     * Sets up a hidden tile for each letter of a word, creating tiles only if the word is longer than any before.
+     *
+     * @return the tiles, in order, to be shown on the word board; a view that changes with the next word.
+     */
+    public List<StackPane> showWord(String word) {
+        while (panes.size() < word.length()) {
+            Rectangle tile   = new Rectangle(TILE_SIZE, TILE_SIZE);
+            Text      letter = new Text();
+            tile.setStroke(Color.BLACK);
+            tiles.add(tile);
+            letters.add(letter);
+            panes.add(new StackPane(tile, letter));
+        }
+        for (int i = 0; i < word.length(); i++) {
+            tiles.get(i).setFill(Color.BEIGE);
+            Text letter = letters.get(i);
+            letter.setText(Character.toString(word.charAt(i)));
+            letter.setStroke(null);
+            letter.setVisible(false);
+        }
+        inUse = word.length();
+        return Collections.unmodifiableList(panes.subList(0, inUse));
+    }
+
+    /** @return the glyphs of the alphabet, with none of them marked as guessed. */
+    public Text[] showAlphabet() {
+        for (Text glyph : glyphs) {
+            glyph.setStroke(null);
+            glyph.setVisible(true);
+            glyph.setOpacity(0.2);
+        }
+        return glyphs;
+    }
+
+    /** @return the number of tiles showing the current word. */
+    public int size() {
+        return inUse;
+    }
+
+    /** @return the rectangle of the tile at the given position of the current word. */
+    public Rectangle tile(int i) {
+        return tiles.get(i);
+    }
+
+    /** @return the letter of the tile at the given position of the current word. */
+    public Text letter(int i) {
+        return letters.get(i);
+    }
+
+    /** @return the glyph of the given letter of the alphabet, by its index (0 for 'a'). */
+    public Text glyph(int i) {
+        return glyphs[i];
+    }
+}
@@ -10,16 +10,10 @@ import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.ToolBar;
 import javafx.scene.layout.*;
-import javafx.scene.shape.Circle;
-import javafx.scene.shape.Line;
-import javafx.scene.shape.Rectangle;
-import javafx.scene.shape.Shape;
-import javafx.scene.paint.Color;
 import propertymanager.PropertyManager;
 import ui.AppGUI;
 
 import java.io.IOException;
-import java.util.ArrayList;
 
 import static hangman.HangmanProperties.*;
 
@@ -39,13 +33,13 @@ public class Workspace extends AppWorkspaceComponent {
     ToolBar           footToolbar;       // toolbar for game buttons
     BorderPane        figurePane;        // container to display the namesake graphic of the (potentially) hanging person
     VBox              gameTextsPane;     // container to display the text-related parts of the game
-    HBox              guessedLetters;    // text area displaying all the letters guessed so far
-    HBox              allGuesses;
     HBox              remainingGuessBox; // container to display the number of remaining guesses
     Button            startGame;         // the button to start playing a game of Hangman
     Button            giveHint = new Button("Give Hint");
     HangmanController controller;
-    ObservableList<Node> hangmanImage;
+    BoardRenderer     board;             // draws the figure, the tiles of the target word and the alphabet
+    Label             remains = new Label(); // dynamically updated label that indicates the number of remaining guesses
+    Label             remainsHeading = new Label("Remaining Guesses: ");
 
     /**
      * Constructor for initializing the workspace, note that this constructor
@@ -72,14 +66,11 @@ public class Workspace extends AppWorkspaceComponent {
         headPane.setAlignment(Pos.CENTER);
 
         figurePane = new BorderPane();
-        guessedLetters = new HBox();
-        guessedLetters.setStyle("-fx-background-color: transparent;");
         remainingGuessBox = new HBox();
-        allGuesses = new HBox();
-        allGuesses.setSpacing(4);
+        board = BoardRenderer.create(propertyManager.getPropertyValue(BOARD_RENDERER));
         gameTextsPane = new VBox();
 
-        gameTextsPane.getChildren().setAll(remainingGuessBox, guessedLetters, allGuesses);
+        gameTextsPane.getChildren().setAll(remainingGuessBox, board.getNode());
 
         bodyPane = new HBox();
         bodyPane.getChildren().addAll(figurePane, gameTextsPane);
@@ -91,91 +82,9 @@ public class Workspace extends AppWorkspaceComponent {
         HBox.setHgrow(blankBoxLeft, Priority.ALWAYS);
         HBox.setHgrow(blankBoxRight, Priority.ALWAYS);
         footToolbar = new ToolBar(blankBoxLeft, startGame, giveHint, blankBoxRight);
-        Pane pane = new Pane();
-        hangmanImage = pane.getChildren();
-        initHanger();
-        initHangman();
-
-
 
         workspace = new VBox();
-        workspace.getChildren().addAll(headPane, bodyPane, pane, footToolbar);
-    }
-
-    public void initHangman(){
-        ArrayList hangman = new ArrayList<Shape>();
-
-        Circle head = new Circle(200,112,35);
-        head.setStroke(Color.BLACK);
-        head.setFill(Color.WHITE);
-        head.setStrokeWidth(5);
-        head.setVisible(false);
-        hangmanImage.add(head);
-        hangman.add(head);
-
-        Line body = new Line(200,200,200,150);
-        body.setStroke(Color.BLACK);
-        body.setStrokeWidth(5);
-        body.setVisible(false);
-        hangmanImage.add(body);
-        hangman.add(body);
-
-        Line leftArm = new Line(150,225,200,175);
-        leftArm.setStroke(Color.BLACK);
-        leftArm.setStrokeWidth(5);
-        leftArm.setVisible(false);
-        hangmanImage.add(leftArm);
-        hangman.add(leftArm);
-
-        Line rightArm = new Line(250,225,200,175);
-        rightArm.setStroke(Color.BLACK);
-        rightArm.setStrokeWidth(5);
-        rightArm.setVisible(false);
-        hangmanImage.add(rightArm);
-        hangman.add(rightArm);
-
-        Line leftLeg = new Line(200,200,175,275);
-        leftLeg.setStroke(Color.BLACK);
-        leftLeg.setStrokeWidth(5);
-        leftLeg.setVisible(false);
-        hangmanImage.add(leftLeg);
-        hangman.add(leftLeg);
-
-        Line rightLeg = new Line(200,200,225,275);
-        rightLeg.setStroke(Color.BLACK);
-        rightLeg.setStrokeWidth(5);
-        rightLeg.setVisible(false);
-        hangmanImage.add(rightLeg);
-        hangman.add(rightLeg);
-    }
-
-    public void initHanger(){
-        Rectangle hangerBottom = new Rectangle(25, 300, 200, 25);
-        hangerBottom.setStroke(Color.BLACK);
-        hangerBottom.setStrokeWidth(3);
-        hangerBottom.setFill(Color.DARKGREEN);
-        hangerBottom.setVisible(false);
-        hangmanImage.add(hangerBottom);
-
-        Rectangle hangerStand = new Rectangle(25, 25, 25, 300);
-        hangerStand.setStroke(Color.BLACK);
-        hangerStand.setStrokeWidth(3);
-        hangerStand.setVisible(false);
-        hangerStand.setFill(Color.BROWN);
-        hangmanImage.add(hangerStand);
-
-        Rectangle hangerTop = new Rectangle(25, 25, 200, 25);
-        hangerTop.setStroke(Color.BLACK);
-        hangerTop.setStrokeWidth(3);
-        hangerTop.setVisible(false);
-        hangerTop.setFill(Color.PLUM);
-        hangmanImage.add(hangerTop);
-
-        Line hangerHook = new Line(200, 25, 200, 75);
-        hangerHook.setStroke(Color.BROWN);
-        hangerHook.setStrokeWidth(3);
-        hangerHook.setVisible(false);
-        hangmanImage.add(hangerHook);
+        workspace.getChildren().addAll(headPane, bodyPane, footToolbar);
     }
 
     private void setupHandlers() {
@@ -215,12 +124,10 @@ public class Workspace extends AppWorkspaceComponent {
         return gameTextsPane;
     }
 
-    public HBox getAllGuesses(){
-        return allGuesses;
+    public BoardRenderer getBoard() {
+        return board;
     }
 
-    public ObservableList<Node> getHangmanImage(){ return hangmanImage;}
-
     public HBox getRemainingGuessBox() {
         return remainingGuessBox;
     }
@@ -231,18 +138,54 @@ public class Workspace extends AppWorkspaceComponent {
 
     public Button getGiveHint() { return giveHint; }
 
+    /**
+     * Shows a new (or restored) game: the number of remaining guesses, one hidden letter tile for every letter of the
+     * target word, and the alphabet with no letter guessed yet.
+     */
+    public void showGame(String targetWord, int remainingGuesses) {
+        remains.setText(Integer.toString(remainingGuesses));
+        remainingGuessBox.getChildren().setAll(remainsHeading, remains);
+        board.showGame(targetWord);
+    }
+
+    /** Shows the letters of the target word at the given positions (a bitmap, as kept by the game data). */
+    public void revealPositions(long positions) {
+        board.revealPositions(positions);
+    }
+
+    /** Highlights the given letters (a 26-bit mask, as kept by the game data) in the alphabet. */
+    public void markGuessed(int letters) {
+        board.markGuessed(letters);
+    }
+
+    /** Shows as many parts of the hanging figure as there have been bad guesses. */
+    public void showBadGuesses(int count) {
+        board.showBadGuesses(count);
+    }
+
+    public void setRemainingGuesses(int remainingGuesses) {
+        remains.setText(Integer.toString(remainingGuesses));
+    }
+
+    /** At the end of a game, shows the letters that were never discovered, highlighted. */
+    public void revealMissedLetters() {
+        board.revealMissedLetters();
+    }
+
+    /**
+     * @param offered whether the hint button is shown at all.
+     * @param enabled whether the hint can be taken now.
+     */
+    public void showHint(boolean offered, boolean enabled) {
+        giveHint.setVisible(offered);
+        giveHint.setDisable(!enabled);
+    }
+
+    /** Clears the game from the workspace. The containers and the tiles are kept, to be reused by the next game. */
     public void reinitialize() {
-        guessedLetters = new HBox();
-        guessedLetters.setSpacing(10);
         giveHint.setVisible(false);
-        guessedLetters.setStyle("-fx-background-color: transparent;");
-        remainingGuessBox = new HBox();
-        allGuesses = new HBox();
-        allGuesses.setSpacing(5);
-        gameTextsPane = new VBox();
-        gameTextsPane.getChildren().setAll(remainingGuessBox, guessedLetters, allGuesses);
+        remainingGuessBox.getChildren().clear();
+        board.clear();
         bodyPane.getChildren().setAll(figurePane, gameTextsPane);
-        for(int i = 0; i < hangmanImage.size(); i++)
-            hangmanImage.get(i).setVisible(false);
     }
 }
\ No newline at end of file
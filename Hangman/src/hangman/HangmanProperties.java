@@ -10,5 +10,10 @@ public enum HangmanProperties {
     SEGMENTED_BUTTON_BAR,
     FIRST_TOOLBAR_BUTTON,
     LAST_TOOLBAR_BUTTON,
-    HEADING_LABEL
+    HEADING_LABEL,
+    EVENT_LOG_FILE_EXT,
+    EVENT_LOG_FILE_EXT_DESC,
+    BINARY_FILE_EXT,
+    BINARY_FILE_EXT_DESC,
+    BOARD_RENDERER
 }
\ No newline at end of file
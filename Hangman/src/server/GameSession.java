@@ -0,0 +1,142 @@
+package server;
+
+import controller.HangmanEngine;
+import data.Difficulty;
+import data.GameData;
+import data.WordDictionary;
+
+import java.util.Locale;
+
+/**
+ * One player's game on the {@link HangmanServer}. A session owns its own {@link GameData} and {@link HangmanEngine},
+ * so sessions never share guess state; the dictionary is shared by all of them. Commands are single lines of text,
+ * and every command is answered by exactly one line:
+ * <pre>
+ *     NEW [EASY|MEDIUM|HARD [minLength maxLength]]  starts a new game
+ *     GUESS letter                                  guesses a letter
+ *     HINT                                          takes the hint, if it is available
+ *     STATE                                         describes the game without changing it
+ *     QUIT                                          ends the connection
+ * </pre>
+ * A game is described as <code>pattern remaining-guesses bad-guesses status</code>, where hidden letters of the pattern
+ * are shown as <code>_</code>, bad guesses are <code>-</code> if there are none, and the status is one of
+ * <code>PLAYING</code>, <code>WON word</code> or <code>LOST word</code>. Errors are answered with
+ * <code>ERROR message</code>. A session is used by one connection at a time, so it is not thread-safe.
+ *
+ * @author Andy Lau
+ */
+public class GameSession {
+
+    public static final String QUIT = "QUIT";
+
+    private final long          id;
+    private final GameData      gamedata;
+    private final HangmanEngine engine;
+    private final StringBuilder reply = new StringBuilder(128); // reused for every reply of this session
+
+    public GameSession(long id) {
+        this.id = id;
+        this.gamedata = new GameData(null);
+        this.engine = new HangmanEngine(gamedata);
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public GameData getGameData() {
+        return gamedata;
+    }
+
+    public HangmanEngine getEngine() {
+        return engine;
+    }
+
+    /**
+     * Executes one command.
+     *
+     * @param line the command, without its line terminator.
+     * @return the reply, without its line terminator.
+     */
+    public String handle(String line) {
+        String[] words = line.trim().split("\\s+");
+        String   command = words[0].toUpperCase(Locale.ROOT);
+        try {
+            switch (command) {
+                case "NEW":
+                    return newGame(words);
+                case "GUESS":
+                    return guess(words);
+                case "HINT":
+                    return hint();
+                case "STATE":
+                    return gamedata.getTargetWord() == null ? "NONE" : describe("GAME");
+                case QUIT:
+                    return "BYE";
+                default:
+                    return "ERROR unknown command " + words[0];
+            }
+        } catch (IllegalArgumentException e) {
+            return "ERROR " + e.getMessage();
+        }
+    }
+
+    private String newGame(String[] words) {
+        if (words.length == 1) {
+            engine.newGame();
+        } else if (words.length == 2 || words.length == 4) {
+            Difficulty difficulty = Difficulty.valueOf(words[1].toUpperCase(Locale.ROOT));
+            int        minLength  = words.length == 4 ? Integer.parseInt(words[2]) : 1;
+            int        maxLength  = words.length == 4 ? Integer.parseInt(words[3]) : GameData.MAX_WORD_LENGTH;
+            if (WordDictionary.getInstance().validSize(difficulty, minLength, maxLength) == 0)
+                throw new IllegalArgumentException("no such words");
+            engine.newGame(difficulty, minLength, maxLength);
+        } else {
+            throw new IllegalArgumentException("usage: NEW [EASY|MEDIUM|HARD [minLength maxLength]]");
+        }
+        return describe("GAME");
+    }
+
+    private String guess(String[] words) {
+        if (gamedata.getTargetWord() == null)
+            return "ERROR no game";
+        if (words.length != 2 || words[1].length() != 1)
+            return "ERROR usage: GUESS letter";
+        return describe(engine.guess(words[1].charAt(0)).name());
+    }
+
+    private String hint() {
+        if (gamedata.getTargetWord() == null)
+            return "ERROR no game";
+        char letter = engine.hint();
+        if (letter == 0)
+            return "ERROR no hint available";
+        return describe("HINT " + letter);
+    }
+
+    private String describe(String outcome) {
+        StringBuilder builder = reply;
+        builder.setLength(0);
+        builder.append(outcome).append(' ');
+
+        String targetword = gamedata.getTargetWord();
+        long   revealed   = gamedata.getRevealedPositions();
+        for (int i = 0; i < targetword.length(); i++)
+            builder.append((revealed & (1L << i)) != 0 ? targetword.charAt(i) : '_');
+        builder.append(' ').append(gamedata.getRemainingGuesses()).append(' ');
+
+        int bad = gamedata.getBadGuessMask();
+        if (bad == 0)
+            builder.append('-');
+        for (; bad != 0; bad &= bad - 1)
+            builder.append((char) ('a' + Integer.numberOfTrailingZeros(bad)));
+
+        if (engine.isWon())
+            builder.append(" WON ").append(targetword);
+        else if (engine.isLost())
+            builder.append(" LOST ").append(targetword);
+        else
+            builder.append(" PLAYING");
+        return builder.toString();
+    }
+}
@@ -0,0 +1,355 @@
+package server;
+
+import data.SavedGame;
+import data.WordDictionary;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hosts many independent games of Hangman in one JVM, for players connecting over TCP on the loopback interface. Each
+ * connection starts a new {@link GameSession}, and all sessions share the one in-memory {@link WordDictionary}. The
+ * protocol is line-based; see {@link GameSession} for the game commands. Besides those, <code>SESSION</code> is
+ * answered with <code>SESSION id</code>, and <code>RESUME id</code> switches the connection to an earlier session,
+ * e.g., after reconnecting. Sessions are kept by a {@link SessionRegistry}. Start the server with
+ * <pre>
+ *     java server.HangmanServer [port [workers [spill-directory]]]
+ * </pre>
+ * The port defaults to {@value #DEFAULT_PORT} and the number of workers to the number of processors. Sessions idle for
+ * longer than {@value #SESSION_TIME_TO_LIVE} minutes are evicted, and kept in the spill directory if one is given.
+ * Connections are
+ * non-blocking: each worker thread serves its share of the connections from a single selector, so the number of
+ * threads does not grow with the number of players. The commands are cheap enough to run on the worker itself.
+ *
+ * @author Andy Lau
+ */
+public class HangmanServer {
+
+    public static final int DEFAULT_PORT         = 4000;
+    public static final int SESSION_TIME_TO_LIVE = 10;      // minutes
+    public static final int SESSION_CAPACITY     = 100_000; // sessions kept in memory
+
+    private static final int  MAX_LINE_LENGTH    = 256;  // longer commands are rejected, and the connection is closed
+    private static final int  BACKLOG            = 4096; // connections waiting to be accepted, e.g., when many players join at once
+    private static final byte LINE_SEPARATOR     = '\n';
+    private static final long ACCEPT_RETRY_DELAY = 100;  // milliseconds to wait when a connection cannot be accepted
+
+    private final InetSocketAddress address;
+    private final Worker[]          workers;
+    private final SessionRegistry   sessions;
+    private ServerSocketChannel     serverChannel;
+    private volatile GameListener   listener; // told about every change to a game, if set
+
+    public HangmanServer(int port, int workers, SessionRegistry sessions) {
+        this.address = new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+        this.workers = new Worker[workers];
+        this.sessions = sessions;
+    }
+
+    /** Told about every game that a command may have changed, e.g., to show it to spectators. */
+    public interface GameListener {
+
+        /** Called on the worker thread of the connection, which must not be held up. */
+        void gameChanged(long sessionId, SavedGame game);
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port    = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int workers = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        Path spill  = args.length > 2 ? Paths.get(args[2]) : null;
+
+        WordDictionary dictionary = WordDictionary.getInstance();
+        System.out.printf("Loaded %d target words.%n", dictionary.validSize());
+
+        SessionRegistry sessions = new SessionRegistry(SESSION_TIME_TO_LIVE, TimeUnit.MINUTES, SESSION_CAPACITY, spill);
+        HangmanServer   server   = new HangmanServer(port, workers, sessions);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                server.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            sessions.close(); // spills every session
+        }));
+        server.start();
+        System.out.printf("Serving Hangman on %s with %d workers.%n", server.getAddress(), workers);
+        server.accept();
+    }
+
+    /** Binds the server socket and starts the workers; connections are only accepted by {@link #accept()}. */
+    public void start() throws IOException {
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(address, BACKLOG);
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = new Worker("hangman-worker-" + i);
+            workers[i].thread.start();
+        }
+    }
+
+    /** Sets the listener that is told about every change to a game, or <code>null</code> for none. */
+    public void setListener(GameListener listener) {
+        this.listener = listener;
+    }
+
+    public InetSocketAddress getAddress() throws IOException {
+        return (InetSocketAddress) serverChannel.getLocalAddress();
+    }
+
+    /**
+     * Accepts connections until the server is closed, handing them to the workers in turn. A connection that fails
+     * while it is being accepted is closed, and the server goes on accepting the others; when it runs out of file
+     * descriptors, it waits a little for connections to close before it tries again.
+     */
+    public void accept() throws IOException {
+        for (long next = 0; serverChannel.isOpen(); ) {
+            SocketChannel channel;
+            try {
+                channel = serverChannel.accept();
+            } catch (ClosedChannelException e) {
+                return; // the server was closed
+            } catch (IOException e) {
+                if (!serverChannel.isOpen())
+                    return;
+                e.printStackTrace(); // e.g., too many open files; the connection waits in the backlog
+                try {
+                    Thread.sleep(ACCEPT_RETRY_DELAY);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                continue;
+            }
+            try {
+                channel.configureBlocking(false);
+                channel.socket().setTcpNoDelay(true);
+            } catch (IOException e) {
+                closeQuietly(channel); // e.g., the client reset the connection already
+                continue;
+            }
+            workers[(int) (next++ % workers.length)].register(channel);
+        }
+    }
+
+    /**
+     * Stops accepting connections, and closes every open connection, releasing its session. Each worker closes its own
+     * connections, and this waits until they have.
+     */
+    public void close() throws IOException {
+        serverChannel.close();
+        for (Worker worker : workers)
+            if (worker != null)
+                worker.close();
+    }
+
+    private static void closeQuietly(SocketChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // nothing more can be done with it
+        }
+    }
+
+    /** A connection, with its buffers and its game. */
+    private static class Connection {
+
+        private final ByteBuffer  in  = ByteBuffer.allocate(MAX_LINE_LENGTH);
+        private ByteBuffer        out = ByteBuffer.allocate(MAX_LINE_LENGTH);
+        private GameSession       session;
+        private boolean           closing; // close once everything has been written
+
+        Connection(GameSession session) {
+            this.session = session;
+        }
+
+        /** Queues a reply line, growing the output buffer if the client is not keeping up. */
+        void reply(String line) {
+            byte[] bytes = line.getBytes(StandardCharsets.ISO_8859_1);
+            if (out.remaining() < bytes.length + 1) {
+                ByteBuffer larger = ByteBuffer.allocate(Math.max(out.capacity() * 2, out.position() + bytes.length + 1));
+                out.flip();
+                larger.put(out);
+                out = larger;
+            }
+            out.put(bytes).put(LINE_SEPARATOR);
+        }
+    }
+
+    /** Serves a share of the connections from one selector. */
+    private class Worker implements Runnable {
+
+        private final Selector             selector;
+        private final Thread               thread;
+        private final Queue<SocketChannel> pending = new ConcurrentLinkedQueue<>();
+        private volatile boolean           closing; // set by close, after which the worker closes its connections
+
+        Worker(String name) throws IOException {
+            this.selector = Selector.open();
+            this.thread = new Thread(this, name);
+            thread.setDaemon(true);
+        }
+
+        void register(SocketChannel channel) {
+            pending.add(channel);
+            selector.wakeup();
+            if (closing)
+                closePending(); // the worker may have stopped before the channel was queued
+        }
+
+        /** Tells the worker to close its connections, and waits until it has. */
+        void close() {
+            closing = true;
+            selector.wakeup();
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (!closing) {
+                    selector.select();
+                    for (SocketChannel channel; !closing && (channel = pending.poll()) != null; ) {
+                        try {
+                            channel.register(selector, SelectionKey.OP_READ, new Connection(sessions.create()));
+                        } catch (IOException e) {
+                            closeQuietly(channel); // the client went away before it was served
+                        }
+                    }
+                    Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                    while (keys.hasNext()) {
+                        SelectionKey key = keys.next();
+                        keys.remove();
+                        try {
+                            serve(key);
+                        } catch (IOException e) {
+                            disconnect(key); // the client went away
+                        } catch (RuntimeException e) {
+                            e.printStackTrace(); // a bug in one session; only its connection is dropped
+                            disconnect(key);
+                        }
+                    }
+                }
+            } catch (IOException | ClosedSelectorException e) {
+                e.printStackTrace();
+            } finally {
+                for (SelectionKey key : selector.keys())
+                    disconnect(key);
+                closePending();
+                try {
+                    selector.close();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+
+        private void closePending() {
+            for (SocketChannel channel; (channel = pending.poll()) != null; )
+                closeQuietly(channel);
+        }
+
+        private void serve(SelectionKey key) throws IOException {
+            SocketChannel channel    = (SocketChannel) key.channel();
+            Connection    connection = (Connection) key.attachment();
+
+            if (key.isValid() && key.isReadable()) {
+                if (channel.read(connection.in) < 0)
+                    connection.closing = true;
+                handleLines(connection);
+            }
+
+            connection.out.flip();
+            channel.write(connection.out);
+            connection.out.compact();
+
+            boolean flushed = connection.out.position() == 0;
+            if (flushed && connection.closing)
+                disconnect(key);
+            else
+                key.interestOps(flushed ? SelectionKey.OP_READ : SelectionKey.OP_WRITE);
+        }
+
+        /** Runs every complete command in the input buffer, and keeps any partial command for the next read. */
+        private void handleLines(Connection connection) {
+            ByteBuffer in    = connection.in;
+            int        start = 0;
+            for (int i = 0; i < in.position() && !connection.closing; i++) {
+                if (in.get(i) != LINE_SEPARATOR)
+                    continue;
+                int end = i > start && in.get(i - 1) == '\r' ? i - 1 : i;
+                String line = new String(in.array(), start, end - start, StandardCharsets.ISO_8859_1);
+                start = i + 1;
+                if (line.trim().isEmpty())
+                    continue;
+                connection.reply(handle(connection, line.trim()));
+                GameListener spectator = listener;
+                if (spectator != null && connection.session.getGameData().getTargetWord() != null)
+                    spectator.gameChanged(connection.session.getId(), SavedGame.of(connection.session.getGameData()));
+                if (line.trim().equalsIgnoreCase(GameSession.QUIT))
+                    connection.closing = true;
+            }
+            in.flip(); // not chained: on Java 8, flip returns a Buffer rather than a ByteBuffer
+            in.position(start);
+            in.compact();
+            if (!in.hasRemaining() && !connection.closing) {
+                connection.reply("ERROR line too long");
+                connection.closing = true;
+            }
+        }
+
+        /** Runs a command, taking care of the commands about sessions rather than games. */
+        private String handle(Connection connection, String line) {
+            String[] words = line.split("\\s+");
+            if (words[0].equalsIgnoreCase("SESSION"))
+                return "SESSION " + connection.session.getId();
+            if (!words[0].equalsIgnoreCase("RESUME"))
+                return connection.session.handle(line);
+
+            GameSession session;
+            try {
+                long id = Long.parseLong(words.length == 2 ? words[1] : "");
+                if (id == connection.session.getId())
+                    return "SESSION " + id;
+                session = sessions.acquire(id);
+            } catch (NumberFormatException e) {
+                return "ERROR usage: RESUME id";
+            } catch (IllegalStateException | UncheckedIOException e) {
+                return "ERROR " + e.getMessage();
+            }
+            if (session == null)
+                return "ERROR no such session";
+            sessions.release(connection.session);
+            connection.session = session;
+            return "SESSION " + session.getId();
+        }
+
+        /** Closes a connection, and releases its session. */
+        private void disconnect(SelectionKey key) {
+            closeQuietly((SocketChannel) key.channel());
+            Connection connection = (Connection) key.attachment();
+            if (connection.session != null) {
+                sessions.release(connection.session);
+                connection.session = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package server;
+
+import data.GameDataFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The game sessions of a {@link HangmanServer}, keyed by session id. Lookups never block each other: the sessions are
+ * kept in a {@link ConcurrentHashMap}, and whether each one is idle, in use by a connection or being evicted is only
+ * ever changed by compare-and-set. A session is used by at most one connection at a time.
+ * <p>
+ * Sessions that have not been used for the time-to-live are evicted by a background sweep, as are the least recently
+ * used sessions whenever there are more than the capacity, so the heap stays bounded however many players come and
+ * go. A session is never evicted while a connection is using it. With a spill directory, the game of an evicted session
+ * is saved there through {@link GameDataFile#save} and restored with {@link GameDataFile#loadData} the next time the
+ * session is asked for; without one, evicted sessions are simply forgotten. A session whose game cannot be saved, e.g.,
+ * because the disk is full, is kept in memory until a later sweep manages to.
+ *
+ * @author Andy Lau
+ */
+public class SessionRegistry implements AutoCloseable {
+
+    private static final int    IDLE              = 0;
+    private static final int    IN_USE            = 1;
+    private static final int    EVICTED           = 2;
+    private static final String SPILL_FILE_PREFIX = "session-";
+    private static final String SPILL_FILE_SUFFIX = ".json";
+
+    private final Map<Long, Entry>         sessions = new ConcurrentHashMap<>();
+    private final AtomicLong               ids;
+    private final long                     timeToLive;     // in nanoseconds
+    private final int                      capacity;
+    private final Path                     spillDirectory; // null if evicted sessions are not kept
+    private final GameDataFile             file     = new GameDataFile();
+    private final ScheduledExecutorService sweeper;
+    private final AtomicBoolean            sweepPending = new AtomicBoolean(); // whether an extra sweep is queued
+
+    /**
+     * @param timeToLive     how long a session may be idle before it is evicted.
+     * @param unit           the unit of the time-to-live.
+     * @param capacity       how many sessions may be kept in memory.
+     * @param spillDirectory where evicted sessions are saved, or <code>null</code> to forget them.
+     */
+    public SessionRegistry(long timeToLive, TimeUnit unit, int capacity, Path spillDirectory) throws IOException {
+        this.timeToLive = unit.toNanos(timeToLive);
+        this.capacity = capacity;
+        this.spillDirectory = spillDirectory;
+        this.ids = new AtomicLong(spillDirectory == null ? 0 : createSpillDirectory(spillDirectory));
+
+        long sweepInterval = Math.max(unit.toMillis(timeToLive) / 4, 1);
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "hangman-session-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(this::sweep, sweepInterval, sweepInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /** Creates the spill directory if needed, and returns the largest session id spilled there. */
+    private static long createSpillDirectory(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        long largest = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SPILL_FILE_PREFIX + "*" + SPILL_FILE_SUFFIX)) {
+            for (Path path : files) {
+                String name = path.getFileName().toString();
+                try {
+                    largest = Math.max(largest, Long.parseLong(
+                            name.substring(SPILL_FILE_PREFIX.length(), name.length() - SPILL_FILE_SUFFIX.length())));
+                } catch (NumberFormatException e) {
+                    // not one of ours
+                }
+            }
+        }
+        return largest;
+    }
+
+    /** Creates a new session, in use by the caller until it is {@link #release(GameSession) released}. */
+    public GameSession create() {
+        Entry entry = new Entry(new GameSession(ids.incrementAndGet()));
+        entry.state.set(IN_USE);
+        sessions.put(entry.session.getId(), entry);
+        if (sessions.size() > capacity && sweepPending.compareAndSet(false, true))
+            sweeper.execute(this::sweep); // one sweep evicts the whole excess, however many sessions were created
+        return entry.session;
+    }
+
+    /**
+     * Looks up a session, restoring it from the spill directory if it was evicted. The session is in use by the caller
+     * until it is {@link #release(GameSession) released}.
+     *
+     * @return the session, or <code>null</code> if there is no such session.
+     * @throws IllegalStateException if the session is in use by another connection.
+     * @throws UncheckedIOException  if the session was spilled but cannot be restored.
+     */
+    public GameSession acquire(long id) {
+        while (true) {
+            Entry entry = sessions.get(id);
+            if (entry == null) {
+                Entry restored = restore(id); // read outside of the map, so that no other session waits on the disk
+                entry = restored == null ? sessions.get(id) : sessions.putIfAbsent(id, restored);
+                if (entry == null && restored == null)
+                    return null;
+                if (entry == null) {
+                    entry = restored;
+                    deleteSpillFile(id); // only once the session is back in the map, where others will find it
+                }
+            }
+            if (entry.state.compareAndSet(IDLE, IN_USE)) {
+                entry.touch();
+                return entry.session;
+            }
+            if (entry.state.get() == IN_USE)
+                throw new IllegalStateException("session " + id + " is in use");
+            Thread.yield(); // it is being evicted; wait until its game is spilled, and restore it
+        }
+    }
+
+    /** Tells the registry that the caller has stopped using a session, which may be evicted from now on. */
+    public void release(GameSession session) {
+        Entry entry = sessions.get(session.getId());
+        if (entry != null && entry.session == session) {
+            entry.touch();
+            entry.state.set(IDLE);
+        }
+    }
+
+    /** @return the number of sessions in memory. */
+    public int size() {
+        return sessions.size();
+    }
+
+    /**
+     * Evicts every unused session that has been idle for longer than the time-to-live, and then, while there are more
+     * sessions than the capacity, the least recently used ones. This runs in the background, but may be called at
+     * any time.
+     */
+    public void evictIdle() {
+        long now = System.nanoTime();
+        for (Entry entry : sessions.values())
+            if (now - entry.lastUsed > timeToLive)
+                evict(entry);
+
+        int excess = sessions.size() - capacity;
+        if (excess > 0) {
+            // sorted by when each session was last used as of now, since connections keep touching them meanwhile
+            List<LastUse> entries = new ArrayList<>(sessions.size());
+            for (Entry entry : sessions.values())
+                entries.add(new LastUse(entry));
+            entries.sort(Comparator.comparingLong(lastUse -> lastUse.time));
+            for (int i = 0; i < entries.size() && excess > 0; i++)
+                if (evict(entries.get(i).entry))
+                    excess--;
+        }
+    }
+
+    /** A background sweep, which must not throw: that would cancel every later sweep, and unbound the heap. */
+    private void sweep() {
+        sweepPending.set(false);
+        try {
+            evictIdle();
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /** Stops the background sweep, and evicts every unused session, spilling it if there is a spill directory. */
+    @Override
+    public void close() {
+        sweeper.shutdownNow();
+        for (Entry entry : sessions.values())
+            evict(entry);
+    }
+
+    private boolean evict(Entry entry) {
+        if (!entry.state.compareAndSet(IDLE, EVICTED))
+            return false; // in use, or already being evicted
+        if (!spill(entry.session)) {
+            entry.state.set(IDLE); // kept in memory, and spilled again by a later sweep
+            return false;
+        }
+        sessions.remove(entry.session.getId(), entry);
+        return true;
+    }
+
+    /** @return whether the game of the session was saved, or did not need to be. */
+    private boolean spill(GameSession session) {
+        if (spillDirectory == null || session.getGameData().getTargetWord() == null)
+            return true;
+        try {
+            file.save(session.getGameData(), spillFile(session.getId()));
+            return true;
+        } catch (IOException e) {
+            e.printStackTrace(); // e.g., the disk is full; the session stays in memory
+            return false;
+        }
+    }
+
+    private Entry restore(long id) {
+        Path path = spillDirectory == null ? null : spillFile(id);
+        if (path == null || !Files.exists(path))
+            return null;
+        GameSession session = new GameSession(id);
+        try {
+            file.loadData(session.getGameData(), path);
+        } catch (NoSuchFileException e) {
+            return null; // restored by another connection meanwhile
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new Entry(session);
+    }
+
+    private void deleteSpillFile(long id) {
+        try {
+            Files.deleteIfExists(spillFile(id));
+        } catch (IOException e) {
+            e.printStackTrace(); // the stale file is replaced the next time the session is spilled
+        }
+    }
+
+    private Path spillFile(long id) {
+        return spillDirectory.resolve(SPILL_FILE_PREFIX + id + SPILL_FILE_SUFFIX);
+    }
+
+    /** When a session was last used, as of when its sessions were sorted for eviction. */
+    private static class LastUse {
+
+        private final Entry entry;
+        private final long  time;
+
+        LastUse(Entry entry) {
+            this.entry = entry;
+            this.time = entry.lastUsed;
+        }
+    }
+
+    private static class Entry {
+
+        private final GameSession   session;
+        private final AtomicInteger state = new AtomicInteger(IDLE);
+        private volatile long       lastUsed;
+
+        Entry(GameSession session) {
+            this.session = session;
+            touch();
+        }
+
+        void touch() {
+            lastUsed = System.nanoTime();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package simulation;
+
+import data.GameData;
+import data.WordDictionary;
+
+/**
+ * Guesses the letters in order of how many target words contain them, ignoring what has been revealed.
+ *
+ * @author Andy Lau
+ */
+public class FrequencyStrategy implements GuessingStrategy {
+
+    private final char[] order = new char[26]; // the letters, most frequent first
+
+    public FrequencyStrategy() {
+        WordDictionary dictionary = WordDictionary.getInstance();
+        for (int i = 0; i < order.length; i++) {
+            char letter = (char) ('a' + i);
+            int  j      = i;
+            for (; j > 0 && dictionary.letterFrequency(order[j - 1]) < dictionary.letterFrequency(letter); j--)
+                order[j] = order[j - 1];
+            order[j] = letter;
+        }
+    }
+
+    @Override
+    public char nextGuess(GameData gamedata) {
+        for (char letter : order)
+            if (!gamedata.isGuessed(letter))
+                return letter;
+        return 0;
+    }
+}
@@ -0,0 +1,19 @@
+package simulation;
+
+import data.GameData;
+
+/**
+ * How a simulated player picks its guesses. A strategy is only ever used by one thread, so it may keep state between
+ * games; the {@link SimulationRunner} creates one per thread. Strategies named on the command line by class name need
+ * a public no-argument constructor.
+ *
+ * @author Andy Lau
+ */
+public interface GuessingStrategy {
+
+    /**
+     * @param gamedata the game in progress, which is not over.
+     * @return the next letter to guess; it must not have been guessed before.
+     */
+    char nextGuess(GameData gamedata);
+}
@@ -0,0 +1,21 @@
+package simulation;
+
+import data.GameData;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Guesses the letters in random order; a baseline for the other strategies.
+ *
+ * @author Andy Lau
+ */
+public class RandomStrategy implements GuessingStrategy {
+
+    @Override
+    public char nextGuess(GameData gamedata) {
+        int left = ~gamedata.getAllGuessMask() & ((1 << 26) - 1);
+        for (int skip = ThreadLocalRandom.current().nextInt(Integer.bitCount(left)); skip > 0; skip--)
+            left &= left - 1;
+        return (char) ('a' + Integer.numberOfTrailingZeros(left));
+    }
+}
@@ -0,0 +1,192 @@
+package simulation;
+
+import controller.HangmanEngine;
+import controller.HangmanSolver;
+import data.CandidateFilter;
+import data.Difficulty;
+import data.GameData;
+import data.WordDictionary;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Plays many games of Hangman headlessly, to tune the rules: how many wrong guesses are allowed, and how many distinct
+ * letters earn a hint. Run it from the <code>Hangman</code> directory:
+ * <pre>
+ *     java simulation.SimulationRunner [--games n] [--strategy solver|frequency|random|class-name] [--threads n]
+ *                                      [--guesses n] [--hint-threshold n] [--hint never|first|last]
+ * </pre>
+ * The games are split evenly between the threads, which default to one per processor. Each thread has its own game,
+ * strategy and statistics, and works out the candidates and the hint itself rather than on the common fork-join pool,
+ * so the threads share nothing but the read-only dictionary. How well that scales is bound by the memory bandwidth of
+ * the dictionary scans, so measure it on the machine at hand with <code>--threads</code>. The target words are drawn from each difficulty in turn, and the win rate, the average number of
+ * guesses and the use of the hint are reported per difficulty. The hint is taken as soon as it is available
+ * (<code>first</code>), when it is the last chance to take it (<code>last</code>), or <code>never</code>.
+ *
+ * @author Andy Lau
+ */
+public class SimulationRunner {
+
+    private static final Difficulty[] DIFFICULTIES = Difficulty.values();
+
+    private enum HintPolicy {NEVER, FIRST, LAST}
+
+    private long                       games         = 1_000_000;
+    private String                     strategyName  = "frequency";
+    private Supplier<GuessingStrategy> strategies    = FrequencyStrategy::new;
+    private int                        threads       = Runtime.getRuntime().availableProcessors();
+    private int                        guesses       = GameData.TOTAL_NUMBER_OF_GUESSES_ALLOWED;
+    private int                        hintThreshold = GameData.HINT_THRESHOLD;
+    private HintPolicy                 hintPolicy    = HintPolicy.LAST;
+
+    public static void main(String[] args) throws InterruptedException, ExecutionException {
+        SimulationRunner runner = new SimulationRunner();
+        try {
+            runner.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("usage: java simulation.SimulationRunner [--games n] "
+                               + "[--strategy solver|frequency|random|class-name] [--threads n] [--guesses n] "
+                               + "[--hint-threshold n] [--hint never|first|last]");
+            System.exit(1);
+        }
+
+        WordDictionary.getInstance().size(); // load the dictionary before the clock starts
+        long            start = System.nanoTime();
+        SimulationStats stats = runner.run();
+        double          time  = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("%s strategy, %d guesses, hint threshold %d, hint %s: %d games on %d threads in %.1f s "
+                          + "(%.0f games/s)%n", runner.strategyName, runner.guesses, runner.hintThreshold,
+                          runner.hintPolicy.name().toLowerCase(Locale.ROOT), stats.getGames(), runner.threads, time,
+                          stats.getGames() / time);
+        stats.print(System.out);
+    }
+
+    private void parse(String[] args) {
+        for (int i = 0; i < args.length; i += 2) {
+            if (i + 1 >= args.length)
+                throw new IllegalArgumentException("missing value for " + args[i]);
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--games":
+                    games = Long.parseLong(value);
+                    break;
+                case "--strategy":
+                    strategyName = value;
+                    strategies = strategy(value);
+                    break;
+                case "--threads":
+                    threads = Integer.parseInt(value);
+                    break;
+                case "--guesses":
+                    guesses = Integer.parseInt(value);
+                    break;
+                case "--hint-threshold":
+                    hintThreshold = Integer.parseInt(value);
+                    break;
+                case "--hint":
+                    hintPolicy = HintPolicy.valueOf(value.toUpperCase(Locale.ROOT));
+                    break;
+                default:
+                    throw new IllegalArgumentException("unknown option " + args[i]);
+            }
+        }
+        if (games < 0 || threads < 1 || guesses < 1)
+            throw new IllegalArgumentException("the numbers of games, threads and guesses cannot be negative");
+    }
+
+    private static Supplier<GuessingStrategy> strategy(String name) {
+        switch (name) {
+            case "solver":
+                return SolverStrategy::new;
+            case "frequency":
+                return FrequencyStrategy::new;
+            case "random":
+                return RandomStrategy::new;
+            default:
+                try {
+                    Class<? extends GuessingStrategy> type = Class.forName(name).asSubclass(GuessingStrategy.class);
+                    type.getConstructor(); // fail now rather than on every thread
+                    return () -> {
+                        try {
+                            return type.getConstructor().newInstance();
+                        } catch (ReflectiveOperationException e) {
+                            throw new IllegalStateException(e);
+                        }
+                    };
+                } catch (ReflectiveOperationException | ClassCastException e) {
+                    throw new IllegalArgumentException("unknown strategy " + name);
+                }
+        }
+    }
+
+    /** Plays all the games, and returns the merged statistics of all the threads. */
+    public SimulationStats run() throws InterruptedException, ExecutionException {
+        ExecutorService               executor = Executors.newFixedThreadPool(threads);
+        List<Future<SimulationStats>> results  = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            long first = t;
+            results.add(executor.submit(() -> play(first)));
+        }
+        executor.shutdown();
+
+        SimulationStats stats = new SimulationStats();
+        for (Future<SimulationStats> result : results)
+            stats.add(result.get());
+        return stats;
+    }
+
+    /**
+     * Plays every game whose number is the given one plus a multiple of the number of threads. The candidates and the
+     * hint are worked out on this thread too, rather than on the common fork-join pool, which the threads would share.
+     */
+    private SimulationStats play(long first) {
+        WordDictionary   dictionary = WordDictionary.getInstance();
+        GameData         gamedata   = new GameData(null).setGuessesAllowed(guesses).setHintThreshold(hintThreshold)
+                                                        .setCandidateFilter(CandidateFilter.sequential(dictionary));
+        HangmanEngine    engine     = new HangmanEngine(gamedata, new HangmanSolver(dictionary, false));
+        GuessingStrategy strategy   = strategies.get();
+        SimulationStats  stats      = new SimulationStats();
+
+        for (long game = first; game < games; game += threads) {
+            Difficulty difficulty = DIFFICULTIES[(int) (game % DIFFICULTIES.length)];
+            engine.newGame(difficulty, 1, GameData.MAX_WORD_LENGTH);
+
+            boolean hintOffered = engine.isHintOffered();
+            boolean hintTaken   = false;
+            int     guessCount  = 0;
+            while (!engine.isOver()) {
+                if (!hintTaken && takeHint(engine)) {
+                    hintTaken = engine.hint() != 0;
+                    continue;
+                }
+                HangmanEngine.GuessResult result = engine.guess(strategy.nextGuess(gamedata));
+                if (result != HangmanEngine.GuessResult.GOOD && result != HangmanEngine.GuessResult.BAD)
+                    break; // the strategy repeated itself or gave up; the game is lost
+                guessCount++;
+            }
+            int wrongCount = gamedata.getBadGuessCount() - (hintTaken ? 1 : 0);
+            stats.record(difficulty, engine.isWon(), guessCount, wrongCount, hintOffered, hintTaken);
+        }
+        return stats;
+    }
+
+    private boolean takeHint(HangmanEngine engine) {
+        switch (hintPolicy) {
+            case FIRST:
+                return engine.isHintAvailable();
+            case LAST:
+                return engine.isHintAvailable() && engine.getGameData().getRemainingGuesses() == 2;
+            default:
+                return false;
+        }
+    }
+}
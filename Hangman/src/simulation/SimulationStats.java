@@ -0,0 +1,91 @@
+package simulation;
+
+import data.Difficulty;
+
+import java.io.PrintStream;
+
+/**
+ * The outcomes of simulated games, per difficulty. Each thread of a simulation keeps its own, and they are merged at
+ * the end, so recording a game never contends with other threads.
+ *
+ * @author Andy Lau
+ */
+public class SimulationStats {
+
+    private static final Difficulty[] DIFFICULTIES = Difficulty.values();
+
+    private final long[] games        = new long[DIFFICULTIES.length];
+    private final long[] wins         = new long[DIFFICULTIES.length];
+    private final long[] guesses      = new long[DIFFICULTIES.length]; // letters guessed, not counting the hint
+    private final long[] wrong        = new long[DIFFICULTIES.length]; // wrong guesses, not counting the hint
+    private final long[] hintsOffered = new long[DIFFICULTIES.length];
+    private final long[] hintsTaken   = new long[DIFFICULTIES.length];
+    private final long[] winsWithHint = new long[DIFFICULTIES.length];
+
+    public void record(Difficulty difficulty, boolean won, int guessCount, int wrongCount, boolean hintOffered,
+                       boolean hintTaken) {
+        int d = difficulty.ordinal();
+        games[d]++;
+        guesses[d] += guessCount;
+        wrong[d] += wrongCount;
+        if (won)
+            wins[d]++;
+        if (hintOffered)
+            hintsOffered[d]++;
+        if (hintTaken) {
+            hintsTaken[d]++;
+            if (won)
+                winsWithHint[d]++;
+        }
+    }
+
+    public void add(SimulationStats other) {
+        for (int d = 0; d < DIFFICULTIES.length; d++)
+            add(other, d, d);
+    }
+
+    /** Adds the outcomes of one difficulty of other statistics to those of a difficulty of these. */
+    private void add(SimulationStats other, int from, int to) {
+        games[to] += other.games[from];
+        wins[to] += other.wins[from];
+        guesses[to] += other.guesses[from];
+        wrong[to] += other.wrong[from];
+        hintsOffered[to] += other.hintsOffered[from];
+        hintsTaken[to] += other.hintsTaken[from];
+        winsWithHint[to] += other.winsWithHint[from];
+    }
+
+    public long getGames() {
+        long total = 0;
+        for (long count : games)
+            total += count;
+        return total;
+    }
+
+    /** Prints one row per difficulty, and one for all games. */
+    public void print(PrintStream out) {
+        out.printf("%-10s %10s %8s %12s %10s %13s %11s %14s%n", "Difficulty", "Games", "Won", "Avg guesses",
+                   "Avg wrong", "Hint offered", "Hint taken", "Won with hint");
+        SimulationStats total = new SimulationStats(); // every difficulty, summed into the first
+        for (int d = 0; d < DIFFICULTIES.length; d++) {
+            printRow(out, DIFFICULTIES[d].name(), d);
+            total.add(this, d, 0);
+        }
+        total.printRow(out, "ALL", 0);
+    }
+
+    private void printRow(PrintStream out, String label, int d) {
+        out.printf("%-10s %10d %7.2f%% %12.2f %10.2f %12.2f%% %10.2f%% %13.2f%%%n", label, games[d],
+                   percent(wins[d], games[d]), ratio(guesses[d], games[d]), ratio(wrong[d], games[d]),
+                   percent(hintsOffered[d], games[d]), percent(hintsTaken[d], games[d]),
+                   percent(winsWithHint[d], hintsTaken[d]));
+    }
+
+    private static double ratio(long count, long total) {
+        return total == 0 ? 0 : (double) count / total;
+    }
+
+    private static double percent(long count, long total) {
+        return 100 * ratio(count, total);
+    }
+}
@@ -0,0 +1,21 @@
+package simulation;
+
+import controller.HangmanSolver;
+import data.GameData;
+import data.WordDictionary;
+
+/**
+ * Plays like the solver behind the hint, but scores the letters on the calling thread: the {@link SimulationRunner}
+ * plays on every core already.
+ *
+ * @author Andy Lau
+ */
+public class SolverStrategy implements GuessingStrategy {
+
+    private final HangmanSolver solver = new HangmanSolver(WordDictionary.getInstance(), false);
+
+    @Override
+    public char nextGuess(GameData gamedata) {
+        return solver.bestGuess(gamedata);
+    }
+}
@@ -33,11 +33,13 @@ public enum AppPropertyType {
     // ERROR MESSAGES
     NEW_ERROR_MESSAGE,
     SAVE_ERROR_MESSAGE,
+    LOAD_ERROR_MESSAGE,
     PROPERTIES_LOAD_ERROR_MESSAGE,
 
     // ERROR TITLES
     NEW_ERROR_TITLE,
     SAVE_ERROR_TITLE,
+    LOAD_ERROR_TITLE,
     PROPERTIES_LOAD_ERROR_TITLE,
 
     // AND VERIFICATION MESSAGES AND TITLES